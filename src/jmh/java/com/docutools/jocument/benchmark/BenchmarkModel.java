@@ -0,0 +1,101 @@
+package com.docutools.jocument.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Synthetic beans the benchmarks generate documents from.
+ *
+ * @since 2026-10-19
+ */
+public final class BenchmarkModel {
+
+  private BenchmarkModel() {
+  }
+
+  /**
+   * Creates a roster with the given number of entries.
+   *
+   * @param entries the number of entries
+   * @return the {@link Roster}
+   */
+  public static Roster roster(int entries) {
+    return new Roster("Roster of %d".formatted(entries), IntStream.range(0, entries)
+        .mapToObj(i -> new Entry("Entry " + i, i * 1.5, i))
+        .toList());
+  }
+
+  /**
+   * Creates a company with the given number of departments and employees per department.
+   *
+   * @param departments the number of departments
+   * @param employees   the number of employees per department
+   * @return the {@link Company}
+   */
+  public static Company company(int departments, int employees) {
+    return new Company("United Federation", IntStream.range(0, departments)
+        .mapToObj(d -> new Department("Department " + d, IntStream.range(0, employees)
+            .mapToObj(e -> employee("Employee %d-%d".formatted(d, e), 20 + e % 40))
+            .toList()))
+        .toList());
+  }
+
+  public static Employee employee(String name, int age) {
+    return new Employee(name, "Officer", age, new Address("Main Street 1", "Vienna", new Country("Austria", "AT")));
+  }
+
+  /**
+   * Creates the same employee as {@link #employee(String, int)} as a tree of maps.
+   *
+   * @param name the name of the employee
+   * @param age  the age of the employee
+   * @return the employee map
+   */
+  public static Map<String, Object> employeeMap(String name, int age) {
+    return Map.of("name", name, "position", "Officer", "age", age,
+        "address", Map.of("street", "Main Street 1", "city", "Vienna",
+            "country", Map.of("name", "Austria", "code", "AT")));
+  }
+
+  /**
+   * Creates the JSON representation of {@link #roster(int)}.
+   *
+   * @param entries the number of entries
+   * @return the JSON
+   */
+  public static String rosterJson(int entries) {
+    var json = new StringBuilder("{\"title\":\"Roster of ").append(entries).append("\",\"entries\":[");
+    for (int i = 0; i < entries; i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      json.append("{\"label\":\"Entry ").append(i)
+          .append("\",\"amount\":").append(i * 1.5)
+          .append(",\"count\":").append(i)
+          .append(",\"address\":{\"street\":\"Main Street ").append(i).append("\",\"city\":\"Vienna\"}}");
+    }
+    return json.append("]}").toString();
+  }
+
+  public record Roster(String title, List<Entry> entries) {
+  }
+
+  public record Entry(String label, double amount, long count) {
+  }
+
+  public record Company(String name, List<Department> departments) {
+  }
+
+  public record Department(String name, List<Employee> employees) {
+  }
+
+  public record Employee(String name, String position, int age, Address address) {
+  }
+
+  public record Address(String street, String city, Country country) {
+  }
+
+  public record Country(String name, String code) {
+  }
+}
@@ -0,0 +1,74 @@
+package com.docutools.jocument.benchmark;
+
+import com.docutools.jocument.Document;
+import com.docutools.jocument.GenerationOptions;
+import com.docutools.jocument.GenerationOptionsBuilder;
+import com.docutools.jocument.MimeType;
+import com.docutools.jocument.OutputTarget;
+import com.docutools.jocument.Template;
+import com.docutools.jocument.impl.ReflectionResolver;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end generation of DOCX and XLSX documents, from reading the template to writing the document.
+ * Documents are generated on the benchmark thread and written to a discarding stream.
+ *
+ * @since 2026-10-19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GenerationBenchmark {
+
+  @Param({"10", "1000"})
+  public int items;
+
+  private Template wordTemplate;
+  private Template excelTemplate;
+  private BenchmarkModel.Roster roster;
+  private BenchmarkModel.Company company;
+  private GenerationOptions options;
+
+  /**
+   * Builds the synthetic templates and models.
+   */
+  @Setup
+  public void setup() {
+    wordTemplate = Template.from(SyntheticTemplates.wordLoop(), MimeType.DOCX, Locale.US).orElseThrow();
+    excelTemplate = Template.from(SyntheticTemplates.excelNestedLoop(), MimeType.XLSX, Locale.US).orElseThrow();
+    roster = BenchmarkModel.roster(items);
+    company = BenchmarkModel.company(Math.max(1, items / 10), 10);
+    options = GenerationOptionsBuilder.buildDefaultOptions();
+  }
+
+  @Benchmark
+  public Document docx() {
+    return generate(wordTemplate, roster);
+  }
+
+  @Benchmark
+  public Document xlsx() {
+    return generate(excelTemplate, company);
+  }
+
+  private Document generate(Template template, Object model) {
+    return template.generate(new ReflectionResolver(model), options, OutputTarget.toStream(OutputStream.nullOutputStream()),
+        Runnable::run).join();
+  }
+}
@@ -0,0 +1,59 @@
+package com.docutools.jocument.benchmark;
+
+import com.docutools.jocument.impl.DocumentImpl;
+import com.docutools.jocument.impl.word.ParagraphReplacer;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Replacement of placeholders split over several runs by the {@link ParagraphReplacer}.
+ * The paragraph is rebuilt before each invocation since the replacement merges its runs.
+ *
+ * @since 2026-10-19
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParagraphReplacerBenchmark {
+
+  @Param({"1", "10", "100"})
+  public int placeholders;
+
+  private XWPFDocument document;
+  private XWPFParagraph paragraph;
+
+  @Setup(Level.Invocation)
+  public void setup() {
+    document = new XWPFDocument();
+    paragraph = SyntheticTemplates.fragmentedParagraph(document, placeholders);
+  }
+
+  @TearDown(Level.Invocation)
+  public void tearDown() throws IOException {
+    document.close();
+  }
+
+  @Benchmark
+  public XWPFParagraph replaceFragmentedRuns() {
+    ParagraphReplacer.replaceText(paragraph, DocumentImpl.TAG_PATTERN, matchResult -> "Jean-Luc Picard");
+    return paragraph;
+  }
+}
@@ -0,0 +1,86 @@
+package com.docutools.jocument.benchmark;
+
+import com.docutools.jocument.PlaceholderData;
+import com.docutools.jocument.PlaceholderResolver;
+import com.docutools.jocument.impl.JsonResolver;
+import com.docutools.jocument.impl.MapResolver;
+import com.docutools.jocument.impl.ReflectionResolver;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Resolution of placeholders by the {@link ReflectionResolver}, the {@link MapResolver} and the {@link JsonResolver}.
+ *
+ * @since 2026-10-19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResolverBenchmark {
+
+  @Param({"100", "10000"})
+  public int payloadItems;
+
+  private PlaceholderResolver beanResolver;
+  private PlaceholderResolver mapResolver;
+  private PlaceholderResolver jsonResolver;
+
+  @Setup
+  public void setup() {
+    beanResolver = new ReflectionResolver(BenchmarkModel.employee("Jean-Luc Picard", 59));
+    mapResolver = new MapResolver(BenchmarkModel.employeeMap("Jean-Luc Picard", 59));
+    jsonResolver = new JsonResolver(BenchmarkModel.rosterJson(payloadItems));
+  }
+
+  @Benchmark
+  public Object reflectionFlat() {
+    return beanResolver.resolve("name");
+  }
+
+  @Benchmark
+  public Object reflectionNested() {
+    return beanResolver.resolve("address.country.name");
+  }
+
+  @Benchmark
+  public Object mapFlat() {
+    return mapResolver.resolve("name");
+  }
+
+  @Benchmark
+  public Object mapNested() {
+    return mapResolver.resolve("address.country.name");
+  }
+
+  @Benchmark
+  public Object jsonScalar() {
+    return jsonResolver.resolve("title");
+  }
+
+  /**
+   * Resolves a loop of the JSON payload and a placeholder of each of its items.
+   *
+   * @param blackhole consumes the resolved items
+   */
+  @Benchmark
+  public void jsonLoop(Blackhole blackhole) {
+    jsonResolver.resolve("entries")
+        .map(PlaceholderData::stream)
+        .orElseThrow()
+        .forEach(item -> blackhole.consume(item.resolve("label")));
+  }
+}
@@ -0,0 +1,100 @@
+package com.docutools.jocument.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+
+/**
+ * Templates built in code, so the benchmarks do not depend on template files and can be parameterized.
+ *
+ * @since 2026-10-19
+ */
+public final class SyntheticTemplates {
+
+  private SyntheticTemplates() {
+  }
+
+  /**
+   * Creates a Word template looping over the entries of a {@link BenchmarkModel.Roster}.
+   *
+   * @return the template
+   */
+  public static byte[] wordLoop() {
+    try (var document = new XWPFDocument()) {
+      document.createParagraph().createRun().setText("{{title}}");
+      document.createParagraph().createRun().setText("{{entries}}");
+      document.createParagraph().createRun().setText("{{label}}: {{amount}} ({{count}})");
+      document.createParagraph().createRun().setText("{{/entries}}");
+      return toBytes(document);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Creates an Excel template with nested loops over the departments and employees of a {@link BenchmarkModel.Company}.
+   *
+   * @return the template
+   */
+  public static byte[] excelNestedLoop() {
+    try (var workbook = new XSSFWorkbook()) {
+      XSSFSheet sheet = workbook.createSheet("Company");
+      row(sheet, 0, List.of("{{name}}"));
+      row(sheet, 1, List.of("{{departments}}"));
+      row(sheet, 2, List.of("Department", "{{name}}"));
+      row(sheet, 3, List.of("{{employees}}"));
+      row(sheet, 4, List.of("{{name}}", "{{position}}", "{{age}}", "{{address.city}}", "{{address.country.code}}"));
+      row(sheet, 5, List.of("{{/employees}}"));
+      row(sheet, 6, List.of("{{/departments}}"));
+      row(sheet, 7, List.of("End of report"));
+      return toBytes(workbook);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Adds a paragraph whose placeholders are split over several runs, like Word does when the text was edited or
+   * spell-checked.
+   *
+   * @param document     the document to add the paragraph to
+   * @param placeholders the number of placeholders in the paragraph
+   * @return the paragraph
+   */
+  public static XWPFParagraph fragmentedParagraph(XWPFDocument document, int placeholders) {
+    XWPFParagraph paragraph = document.createParagraph();
+    for (int i = 0; i < placeholders; i++) {
+      paragraph.createRun().setText("Text before placeholder %d, ".formatted(i));
+      paragraph.createRun().setText("{{");
+      paragraph.createRun().setText("na");
+      paragraph.createRun().setText("me}}");
+      paragraph.createRun().setText(" and after. ");
+    }
+    return paragraph;
+  }
+
+  private static void row(XSSFSheet sheet, int rowNum, List<String> values) {
+    XSSFRow row = sheet.createRow(rowNum);
+    for (int i = 0; i < values.size(); i++) {
+      row.createCell(i).setCellValue(values.get(i));
+    }
+  }
+
+  private static byte[] toBytes(XWPFDocument document) throws IOException {
+    var out = new ByteArrayOutputStream();
+    document.write(out);
+    return out.toByteArray();
+  }
+
+  private static byte[] toBytes(XSSFWorkbook workbook) throws IOException {
+    var out = new ByteArrayOutputStream();
+    workbook.write(out);
+    return out.toByteArray();
+  }
+}
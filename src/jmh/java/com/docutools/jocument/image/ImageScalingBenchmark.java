@@ -0,0 +1,98 @@
+package com.docutools.jocument.image;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reduction of a 4000x3000 photo to 600x450 by the {@link DefaultImageStrategy}, the typical case of a camera image
+ * inserted into a document.
+ *
+ * @since 2026-10-19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ImageScalingBenchmark {
+  private static final int SOURCE_WIDTH = 4000;
+  private static final int SOURCE_HEIGHT = 3000;
+  private static final int TARGET_WIDTH = 600;
+  private static final int TARGET_HEIGHT = 450;
+
+  @Param({"FAST", "QUALITY"})
+  public ScalingMode scalingMode;
+
+  private DefaultImageStrategy strategy;
+  private Path jpeg;
+  private DefaultImageReference decoded;
+
+  /**
+   * Writes the photo as JPEG and keeps it decoded as {@link BufferedImage#TYPE_3BYTE_BGR}, like {@link ImageIO} decodes
+   * JPEGs.
+   *
+   * @throws IOException if the JPEG couldn't be written
+   */
+  @Setup
+  public void setup() throws IOException {
+    strategy = DefaultImageStrategy.instance(scalingMode);
+    var image = new BufferedImage(SOURCE_WIDTH, SOURCE_HEIGHT, BufferedImage.TYPE_3BYTE_BGR);
+    var graphics = image.createGraphics();
+    graphics.setPaint(new GradientPaint(0, 0, Color.ORANGE, 7, 5, Color.BLUE, true));
+    graphics.fillRect(0, 0, SOURCE_WIDTH, SOURCE_HEIGHT);
+    graphics.dispose();
+    jpeg = Files.createTempFile("jocument-benchmark-", ".jpg");
+    ImageIO.write(image, "JPEG", jpeg.toFile());
+    decoded = new DefaultImageReference(image);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(jpeg);
+  }
+
+  /**
+   * Scales the already decoded photo.
+   *
+   * @return the scaled image
+   * @throws IncompatibleImageReferenceException never
+   */
+  @Benchmark
+  public ImageReference scale() throws IncompatibleImageReferenceException {
+    return strategy.scale(decoded, TARGET_WIDTH / (double) SOURCE_WIDTH);
+  }
+
+  /**
+   * Decodes and scales the photo, as done for image placeholders with a maximum size.
+   *
+   * @return the scaled image
+   * @throws IOException                         if the photo couldn't be read
+   * @throws IncompatibleImageReferenceException never
+   */
+  @Benchmark
+  public ImageReference loadAndScale() throws IOException, IncompatibleImageReferenceException {
+    try (var image = strategy.load(jpeg, TARGET_WIDTH, TARGET_HEIGHT)) {
+      double scale = Math.max(image.getWidth() / (double) TARGET_WIDTH, image.getHeight() / (double) TARGET_HEIGHT);
+      return strategy.scale(image, 1 / scale);
+    }
+  }
+}
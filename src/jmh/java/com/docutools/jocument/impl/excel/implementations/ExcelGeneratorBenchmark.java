@@ -0,0 +1,115 @@
+package com.docutools.jocument.impl.excel.implementations;
+
+import com.docutools.jocument.GenerationOptions;
+import com.docutools.jocument.GenerationOptionsBuilder;
+import com.docutools.jocument.benchmark.BenchmarkModel;
+import com.docutools.jocument.benchmark.SyntheticTemplates;
+import com.docutools.jocument.impl.ReflectionResolver;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Nested loops of the {@link ExcelGenerator} and cell creation of the {@link XSSFWriter}, without parsing the template
+ * and writing the document. The workbook is parsed again before each invocation since the generation modifies it.
+ *
+ * @since 2026-10-19
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExcelGeneratorBenchmark {
+
+  private static final int EMPLOYEES_PER_DEPARTMENT = 10;
+
+  @Param({"10", "100", "1000"})
+  public int departments;
+
+  private byte[] template;
+  private BenchmarkModel.Company company;
+  private GenerationOptions options;
+  private XSSFWorkbook workbook;
+  private XSSFSheet sheet;
+
+  /**
+   * Builds the synthetic template and model.
+   */
+  @Setup(Level.Trial)
+  public void setupTrial() {
+    template = SyntheticTemplates.excelNestedLoop();
+    company = BenchmarkModel.company(departments, EMPLOYEES_PER_DEPARTMENT);
+    options = GenerationOptionsBuilder.buildDefaultOptions();
+  }
+
+  @Setup(Level.Invocation)
+  public void setupInvocation() throws IOException {
+    workbook = new XSSFWorkbook(new ByteArrayInputStream(template));
+    sheet = workbook.getSheetAt(0);
+  }
+
+  @TearDown(Level.Invocation)
+  public void tearDown() throws IOException {
+    workbook.close();
+  }
+
+  /**
+   * Generates the nested loops of the departments and their employees.
+   *
+   * @return the workbook
+   */
+  @Benchmark
+  public XSSFWorkbook nestedLoops() {
+    var writer = new XSSFWriter(workbook);
+    writer.newSheet(sheet);
+    List<Row> rows = StreamSupport.stream(sheet.spliterator(), false).toList();
+    ExcelGenerator.apply(new ReflectionResolver(company), rows, writer, options);
+    return workbook;
+  }
+
+  /**
+   * Copies the employee row of the template once per employee, creating its cells with the {@link XSSFWriter}.
+   *
+   * @return the workbook
+   */
+  @Benchmark
+  public XSSFWorkbook cellCreation() {
+    var writer = new XSSFWriter(workbook);
+    writer.newSheet(sheet);
+    Row templateRow = sheet.getRow(4);
+    writer.setSectionOffset(sheet.getLastRowNum());
+    for (int i = 0; i < departments * EMPLOYEES_PER_DEPARTMENT; i++) {
+      writer.newRow(templateRow);
+      for (Cell cell : templateRow) {
+        if (cell.getColumnIndex() == 2) {
+          writer.addCell(cell, i);
+        } else {
+          writer.addCell(cell, "Employee " + i);
+        }
+      }
+      writer.updateRowsWritten(1);
+    }
+    return workbook;
+  }
+}
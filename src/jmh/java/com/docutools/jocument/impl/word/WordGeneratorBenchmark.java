@@ -0,0 +1,78 @@
+package com.docutools.jocument.impl.word;
+
+import com.docutools.jocument.GenerationOptions;
+import com.docutools.jocument.GenerationOptionsBuilder;
+import com.docutools.jocument.benchmark.BenchmarkModel;
+import com.docutools.jocument.benchmark.SyntheticTemplates;
+import com.docutools.jocument.impl.ReflectionResolver;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.poi.xwpf.usermodel.IBodyElement;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loop unrolling of the {@link WordGenerator}, without parsing the template and writing the document.
+ * The template is parsed again before each invocation since the generation modifies it.
+ *
+ * @since 2026-10-19
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class WordGeneratorBenchmark {
+
+  @Param({"10", "1000", "10000"})
+  public int items;
+
+  private byte[] template;
+  private BenchmarkModel.Roster roster;
+  private GenerationOptions options;
+  private XWPFDocument document;
+  private List<IBodyElement> elements;
+
+  /**
+   * Builds the synthetic template and model.
+   */
+  @Setup(Level.Trial)
+  public void setupTrial() {
+    template = SyntheticTemplates.wordLoop();
+    roster = BenchmarkModel.roster(items);
+    options = GenerationOptionsBuilder.buildDefaultOptions();
+  }
+
+  @Setup(Level.Invocation)
+  public void setupInvocation() throws IOException {
+    document = new XWPFDocument(new ByteArrayInputStream(template));
+    elements = new ArrayList<>(document.getBodyElements());
+  }
+
+  @TearDown(Level.Invocation)
+  public void tearDown() throws IOException {
+    document.close();
+  }
+
+  @Benchmark
+  public XWPFDocument unrollLoop() {
+    WordGenerator.apply(new ReflectionResolver(roster), elements, options);
+    return document;
+  }
+}
@@ -18,12 +18,13 @@ public interface Document {
 
   /**
    * This method is used to stop execution on the main thread until the
-   * generation of the document has finished or a specified time has passed,
-   * after which the thread responsible for generation gets interrupted.
+   * generation of the document has finished or a specified time has passed.
+   * The generation keeps running after the time has passed, use
+   * {@link #cancel()} or {@link GenerationOptionsBuilder#withTimeout(java.time.Duration)}
+   * to stop it.
    *
-   * @param time the time to wait before interrupting the process in milliseconds
-   * @throws InterruptedException If document generation has not finished in the
-   *                              allowed time.
+   * @param time the time to wait in milliseconds, {@code 0} to wait until the generation has finished
+   * @throws InterruptedException If the waiting thread has been interrupted.
    */
   void blockUntilCompletion(long time) throws InterruptedException;
 
@@ -43,8 +44,17 @@ public interface Document {
    * This is currently set only after the document generation
    * has finished, but is dependant on the implementation, so this
    * could change in the future.
+   * If the document has been written to a stream or channel
+   * {@link OutputTarget}, there is no path.
    *
-   * @return The path to the finished document
+   * @return The path to the finished document, {@code null} if it has not been written to a file
    */
   Path getPath();
+
+  /**
+   * Cancel the generation of the document.
+   * The generation stops at its next checkpoint and releases its temporary file, afterwards the document is not
+   * {@link #completed()}. Has no effect if the generation has already finished.
+   */
+  void cancel();
 }
@@ -0,0 +1,14 @@
+package com.docutools.jocument;
+
+/**
+ * Thrown when the generation of a {@link Document} stops because it has been cancelled by {@link Document#cancel()} or
+ * exceeded the timeout set in its {@link GenerationOptions}.
+ *
+ * @since 2026-10-19
+ */
+public class GenerationCancelledException extends RuntimeException {
+
+  public GenerationCancelledException(String message) {
+    super(message);
+  }
+}
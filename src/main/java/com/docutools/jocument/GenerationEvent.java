@@ -0,0 +1,18 @@
+package com.docutools.jocument;
+
+import java.util.Optional;
+
+/**
+ * Timing of a phase of the generation of a {@link Document}.
+ *
+ * @param phase         the {@link GenerationPhase}
+ * @param template      the template the document is generated from
+ * @param mimeType      the {@link MimeType} of the document
+ * @param durationNanos the duration of the phase in nanoseconds
+ * @param count         the number of processed items, e.g. loop items or resolved placeholders, {@code 1} for single steps
+ * @param name          the name of the processed element, e.g. the placeholder of a loop
+ * @since 2026-10-19
+ */
+public record GenerationEvent(GenerationPhase phase, String template, MimeType mimeType, long durationNanos, long count,
+                              Optional<String> name) {
+}
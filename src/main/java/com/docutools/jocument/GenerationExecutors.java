@@ -0,0 +1,100 @@
+package com.docutools.jocument;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factories for {@link ExecutorService}s to pass to {@link Template#generate(PlaceholderResolver, java.util.concurrent.Executor)}.
+ * The {@link org.apache.poi.util.LocaleUtil} locale of the generating thread is set and restored by each generation, so
+ * the executors can be shared between templates of different locales.
+ *
+ * @since 2026-10-19
+ */
+public final class GenerationExecutors {
+
+  private static final Optional<MethodHandle> VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadPerTaskExecutor();
+
+  private GenerationExecutors() {
+  }
+
+  /**
+   * Whether the running JVM supports virtual threads (Java 21 and later).
+   *
+   * @return {@code true} if {@link #virtualThreads()} can be used
+   */
+  public static boolean virtualThreadsAvailable() {
+    return VIRTUAL_THREAD_PER_TASK_EXECUTOR.isPresent();
+  }
+
+  /**
+   * Creates an executor starting a new virtual thread per document.
+   * Since virtual threads are cheap, the number of concurrent generations should be bounded by other means, e.g. the
+   * memory available for the documents in flight.
+   *
+   * @return the executor, has to be closed by the caller
+   * @throws UnsupportedOperationException if the running JVM does not support virtual threads
+   */
+  public static ExecutorService virtualThreads() {
+    MethodHandle factory = VIRTUAL_THREAD_PER_TASK_EXECUTOR
+        .orElseThrow(() -> new UnsupportedOperationException("Virtual threads require Java 21 or later"));
+    try {
+      return (ExecutorService) factory.invoke();
+    } catch (Throwable e) {
+      throw new IllegalStateException("Could not create virtual thread executor", e);
+    }
+  }
+
+  /**
+   * Creates an executor generating at most {@code threads} documents at the same time on platform threads.
+   * Further documents are queued until a thread becomes available.
+   *
+   * @param threads the number of threads
+   * @return the executor, has to be shut down by the caller
+   */
+  public static ExecutorService platformThreads(int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Thread count has to be at least 1, was %d".formatted(threads));
+    }
+    return Executors.newFixedThreadPool(threads, new GenerationThreadFactory());
+  }
+
+  /**
+   * Creates a virtual thread executor if the running JVM supports it, otherwise a platform thread executor with the given
+   * number of threads.
+   *
+   * @param fallbackThreads the number of platform threads if virtual threads are not available
+   * @return the executor, has to be shut down by the caller
+   */
+  public static ExecutorService virtualThreadsOrPlatformThreads(int fallbackThreads) {
+    return virtualThreadsAvailable() ? virtualThreads() : platformThreads(fallbackThreads);
+  }
+
+  private static Optional<MethodHandle> findVirtualThreadPerTaskExecutor() {
+    try {
+      return Optional.of(MethodHandles.publicLookup()
+          .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class)));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static class GenerationThreadFactory implements ThreadFactory {
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    private final int poolNumber = POOL_NUMBER.incrementAndGet();
+    private final AtomicInteger threadNumber = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      var thread = new Thread(runnable, "jocument-%d-%d".formatted(poolNumber, threadNumber.incrementAndGet()));
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package com.docutools.jocument;
+
+/**
+ * Receives the {@link GenerationEvent}s of the documents generated with the {@link GenerationOptions} it is registered
+ * in, see {@link GenerationOptionsBuilder#withListener(GenerationListener)}.
+ *
+ * <p>Listeners are called on the threads generating the documents, possibly concurrently, so they have to be thread safe
+ * and should return quickly. Exceptions thrown by listeners are logged and do not affect the generation.</p>
+ *
+ * @since 2026-10-19
+ */
+@FunctionalInterface
+public interface GenerationListener {
+
+  void onEvent(GenerationEvent event);
+}
@@ -2,11 +2,13 @@ package com.docutools.jocument;
 
 import com.docutools.jocument.formatting.PlaceholderDataFormattingOption;
 import com.docutools.jocument.image.ImageStrategy;
+import com.docutools.jocument.image.ScaledImageCache;
 import com.docutools.jocument.impl.ScalarPlaceholderData;
 import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 
 /**
@@ -19,7 +21,20 @@ public record GenerationOptions(ImageStrategy imageStrategy,
                                 Duration maximumWaitTime,
                                 List<PlaceholderDataFormattingOption> formattingOptions,
                                 BiFunction<String, Locale, Optional<String>> translationFunction,
-                                Optional<MimeType> documentMimeType) {
+                                Optional<MimeType> documentMimeType,
+                                int sheetParallelism,
+                                int loopParallelism,
+                                Optional<Duration> timeout,
+                                List<GenerationListener> listeners,
+                                int imageParallelism,
+                                long imageMemoryBudget,
+                                Optional<ScaledImageCache> scaledImageCache,
+                                Optional<Executor> executor) {
+
+  /**
+   * The default budget of decoded image memory when images are processed in parallel.
+   */
+  public static final long DEFAULT_IMAGE_MEMORY_BUDGET = 512L * 1024 * 1024;
 
   public GenerationOptions(ImageStrategy imageStrategy,
                            Duration maximumWaitTime,
@@ -28,6 +43,15 @@ public record GenerationOptions(ImageStrategy imageStrategy,
     this(imageStrategy, maximumWaitTime, formattingOptions, translationFunction, Optional.empty());
   }
 
+  public GenerationOptions(ImageStrategy imageStrategy,
+                           Duration maximumWaitTime,
+                           List<PlaceholderDataFormattingOption> formattingOptions,
+                           BiFunction<String, Locale, Optional<String>> translationFunction,
+                           Optional<MimeType> documentMimeType) {
+    this(imageStrategy, maximumWaitTime, formattingOptions, translationFunction, documentMimeType, 1, 1, Optional.empty(), List.of(),
+        1, DEFAULT_IMAGE_MEMORY_BUDGET, Optional.empty(), Optional.empty());
+  }
+
   /**
    * Try to format a {@link PlaceholderData} with the given {@link Locale}.
    *
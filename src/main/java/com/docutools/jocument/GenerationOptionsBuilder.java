@@ -5,12 +5,14 @@ import com.docutools.jocument.formatting.PlaceholderDataFormatter;
 import com.docutools.jocument.formatting.PlaceholderDataFormattingOption;
 import com.docutools.jocument.image.DefaultImageStrategy;
 import com.docutools.jocument.image.ImageStrategy;
+import com.docutools.jocument.image.ScaledImageCache;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 
 /**
@@ -30,6 +32,14 @@ public final class GenerationOptionsBuilder {
   private BiFunction<String, Locale, Optional<String>> translationFunction = null;
   private Duration waitTime = Duration.ofSeconds(30);
   private MimeType mimeType;
+  private int sheetParallelism = 1;
+  private int loopParallelism = 1;
+  private Duration timeout;
+  private int imageParallelism = 1;
+  private long imageMemoryBudget = GenerationOptions.DEFAULT_IMAGE_MEMORY_BUDGET;
+  private ScaledImageCache scaledImageCache;
+  private Executor executor;
+  private final List<GenerationListener> listeners = new ArrayList<>();
 
   public GenerationOptionsBuilder() {
     this.imageStrategy = DefaultImageStrategy.instance();
@@ -64,8 +74,132 @@ public final class GenerationOptionsBuilder {
     return this;
   }
 
+  /**
+   * Generate the sheets of Excel documents concurrently, using up to {@code parallelism} threads per document.
+   * The threads are taken from the executor set by {@link #withExecutor(Executor)}, or from a pool created per document.
+   * Each sheet gets its own writer state, only the shared workbook tables (styles, shared strings) are synchronized.
+   * Workbooks with defined names or formulas referencing other sheets are always generated sequentially.
+   *
+   * <p>Inserting a row above existing rows, e.g. for each item of a loop followed by more content, shifts the rows
+   * below it. Shifting rewrites formulas across the whole workbook, so it pauses the generation of all other sheets.
+   * Templates whose loops are followed by content gain little from concurrent sheet generation, templates with loops at
+   * the end of their sheets do not shift rows at all.</p>
+   *
+   * <p>The {@link PlaceholderResolver} and any custom {@link PlaceholderData} used in the template have to be safe for
+   * concurrent use when this is enabled.</p>
+   *
+   * @param parallelism the maximum number of sheets generated at the same time, {@code 1} disables concurrent generation
+   * @return this builder
+   */
+  public GenerationOptionsBuilder withParallelSheetGeneration(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Sheet parallelism has to be at least 1, was %d".formatted(parallelism));
+    }
+    this.sheetParallelism = parallelism;
+    return this;
+  }
+
+  /**
+   * Resolve the items of Excel loops concurrently, using up to {@code parallelism} threads per document.
+   * The threads are taken from the executor set by {@link #withExecutor(Executor)}, or from a pool created per document
+   * once the first loop is unrolled.
+   * The resolved rows are still written in the order of the items, only a bounded number of items is resolved ahead of
+   * the row currently written. Loops containing nested loops are always generated sequentially.
+   *
+   * <p>The {@link PlaceholderResolver}s of the loop items have to be safe for concurrent use when this is enabled.
+   * Custom {@link PlaceholderData} is still applied by the thread writing the document.</p>
+   *
+   * @param parallelism the maximum number of items resolved at the same time, {@code 1} disables concurrent resolution
+   * @return this builder
+   */
+  public GenerationOptionsBuilder withParallelLoopResolution(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Loop parallelism has to be at least 1, was %d".formatted(parallelism));
+    }
+    this.loopParallelism = parallelism;
+    return this;
+  }
+
+  /**
+   * Stop generating a document once it took longer than the timeout.
+   * The document then fails with a {@link GenerationCancelledException} and its temporary file is deleted.
+   *
+   * @param timeout the maximum duration of the generation of a document
+   * @return this builder
+   */
+  public GenerationOptionsBuilder withTimeout(Duration timeout) {
+    if (timeout.isNegative() || timeout.isZero()) {
+      throw new IllegalArgumentException("Timeout has to be positive, was %s".formatted(timeout));
+    }
+    this.timeout = timeout;
+    return this;
+  }
+
+  /**
+   * Decode and scale the images of Word documents concurrently, using up to {@code parallelism} threads per document.
+   * The images are inserted by the generating thread once the rest of the document has been generated.
+   * Images are only decoded while the estimated size of all decoded images in flight (four bytes per pixel) fits the
+   * budget, so many large images do not exhaust the heap.
+   *
+   * @param parallelism         the maximum number of images processed at the same time, {@code 1} disables the
+   *                            concurrent processing
+   * @param maximumDecodedBytes the budget of decoded image memory per document
+   * @return this builder
+   */
+  public GenerationOptionsBuilder withParallelImageProcessing(int parallelism, long maximumDecodedBytes) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Image parallelism has to be at least 1, was %d".formatted(parallelism));
+    }
+    if (maximumDecodedBytes < 1) {
+      throw new IllegalArgumentException("Image memory budget has to be positive, was %d".formatted(maximumDecodedBytes));
+    }
+    this.imageParallelism = parallelism;
+    this.imageMemoryBudget = maximumDecodedBytes;
+    return this;
+  }
+
+  /**
+   * Reuse the scaled images of previous generations sharing the {@link ScaledImageCache}, instead of scaling the same
+   * image to the same bounds again.
+   *
+   * @param scaledImageCache the cache, shared between the generations
+   * @return this builder
+   */
+  public GenerationOptionsBuilder withScaledImageCache(ScaledImageCache scaledImageCache) {
+    this.scaledImageCache = Objects.requireNonNull(scaledImageCache);
+    return this;
+  }
+
+  /**
+   * Run the concurrent parts of the generations, i.e. sheets, loop items and images, on the given executor instead of
+   * thread pools created per document. The executor then bounds the number of threads used by all generations sharing it.
+   *
+   * <p>A generation waiting for a task runs it itself if the executor has not started it yet, so the executor may be
+   * bounded and may also be the one running the generations.</p>
+   *
+   * @param executor the executor, shared between the generations
+   * @return this builder
+   */
+  public GenerationOptionsBuilder withExecutor(Executor executor) {
+    this.executor = Objects.requireNonNull(executor);
+    return this;
+  }
+
+  /**
+   * Register a listener receiving the timings of the phases of each generated document.
+   *
+   * @param listener the {@link GenerationListener}
+   * @return this builder
+   */
+  public GenerationOptionsBuilder withListener(GenerationListener listener) {
+    this.listeners.add(Objects.requireNonNull(listener));
+    return this;
+  }
+
   public GenerationOptions build() {
-    return new GenerationOptions(imageStrategy, waitTime, formattingOptions, translationFunction, Optional.ofNullable(mimeType));
+    return new GenerationOptions(imageStrategy, waitTime, formattingOptions, translationFunction, Optional.ofNullable(mimeType),
+        sheetParallelism, loopParallelism, Optional.ofNullable(timeout), List.copyOf(listeners),
+        imageParallelism, imageMemoryBudget, Optional.ofNullable(scaledImageCache), Optional.ofNullable(executor));
   }
 
 }
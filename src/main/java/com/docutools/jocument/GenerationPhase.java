@@ -0,0 +1,37 @@
+package com.docutools.jocument;
+
+/**
+ * The phases of the generation of a {@link Document} reported to {@link GenerationListener}s.
+ *
+ * @since 2026-10-19
+ */
+public enum GenerationPhase {
+  /**
+   * Opening and parsing the template.
+   */
+  TEMPLATE_PARSE,
+  /**
+   * Resolving placeholders, reported once per document with the number of resolved placeholders and the total time spent.
+   */
+  PLACEHOLDER_RESOLUTION,
+  /**
+   * Unrolling a loop, reported per loop with the number of items.
+   */
+  LOOP_UNROLL,
+  /**
+   * Loading, scaling and inserting an image.
+   */
+  IMAGE_INSERTION,
+  /**
+   * Evaluating the formulas of an Excel document.
+   */
+  FORMULA_EVALUATION,
+  /**
+   * Writing the document to its {@link OutputTarget}.
+   */
+  SERIALIZATION,
+  /**
+   * The whole generation of the document.
+   */
+  GENERATION
+}
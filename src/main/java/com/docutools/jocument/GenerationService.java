@@ -0,0 +1,326 @@
+package com.docutools.jocument;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Generates {@link Document}s with a bounded number of concurrent generations and a bounded queue of waiting ones.
+ * Use the {@link GenerationServiceBuilder} to create one.
+ *
+ * <p>Waiting generations are grouped by a key, e.g. the template or the tenant they are generated for. When a generation
+ * finishes, the next one is taken from the keys in round-robin order, so a large batch submitted for one key does not
+ * stall the generations submitted for other keys.</p>
+ *
+ * <p>When the queue is full, new generations are handled according to the {@link RejectionPolicy}.</p>
+ *
+ * @since 2026-10-19
+ */
+public final class GenerationService implements AutoCloseable {
+  private static final Logger logger = LogManager.getLogger();
+
+  private final ExecutorService executor;
+  private final boolean ownsExecutor;
+  private final int maxConcurrency;
+  private final int queueCapacity;
+  private final RejectionPolicy rejectionPolicy;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notFull = lock.newCondition();
+  /**
+   * The keys which have waiting generations, in the order they get their next turn.
+   */
+  private final Deque<Object> keys = new ArrayDeque<>();
+  private final Map<Object, Deque<PendingGeneration>> queues = new HashMap<>();
+  private int queueDepth = 0;
+  private int inFlight = 0;
+  private boolean closed = false;
+  /**
+   * Whether the thread holding the lock is starting waiting generations, see {@link #drain()}.
+   */
+  private boolean draining = false;
+
+  GenerationService(ExecutorService executor, boolean ownsExecutor, int maxConcurrency, int queueCapacity,
+                    RejectionPolicy rejectionPolicy) {
+    this.executor = executor;
+    this.ownsExecutor = ownsExecutor;
+    this.maxConcurrency = maxConcurrency;
+    this.queueCapacity = queueCapacity;
+    this.rejectionPolicy = rejectionPolicy;
+  }
+
+  /**
+   * Submit the generation of a document, using the template as fairness key.
+   *
+   * @param template the {@link Template} to generate the document from
+   * @param resolver the {@link PlaceholderResolver}
+   * @param options  meta options on how the {@link Document} shall be generated
+   * @return a future completing with the {@link Document} once it has been generated
+   * @throws RejectedExecutionException if the queue is full and the {@link RejectionPolicy#REJECT} policy is used, or the
+   *                                    service has been closed
+   */
+  public CompletableFuture<Document> submit(Template template, PlaceholderResolver resolver, GenerationOptions options) {
+    return submit(template, template, resolver, options);
+  }
+
+  /**
+   * Submit the generation of a document.
+   *
+   * @param key      the fairness key, e.g. the tenant the document is generated for
+   * @param template the {@link Template} to generate the document from
+   * @param resolver the {@link PlaceholderResolver}
+   * @param options  meta options on how the {@link Document} shall be generated
+   * @return a future completing with the {@link Document} once it has been generated
+   * @throws RejectedExecutionException if the queue is full and the {@link RejectionPolicy#REJECT} policy is used, or the
+   *                                    service has been closed
+   */
+  public CompletableFuture<Document> submit(Object key, Template template, PlaceholderResolver resolver, GenerationOptions options) {
+    return submit(key, template, resolver, options, OutputTarget.temporaryFile());
+  }
+
+  /**
+   * Submit the generation of a document written to the given target.
+   *
+   * @param key      the fairness key, e.g. the tenant the document is generated for
+   * @param template the {@link Template} to generate the document from
+   * @param resolver the {@link PlaceholderResolver}
+   * @param options  meta options on how the {@link Document} shall be generated
+   * @param target   the {@link OutputTarget} to write the document to
+   * @return a future completing with the {@link Document} once it has been generated
+   * @throws RejectedExecutionException if the queue is full and the {@link RejectionPolicy#REJECT} policy is used, or the
+   *                                    service has been closed
+   */
+  public CompletableFuture<Document> submit(Object key, Template template, PlaceholderResolver resolver, GenerationOptions options,
+                                            OutputTarget target) {
+    var generation = new PendingGeneration(template, resolver, options, target, new CompletableFuture<>());
+    lock.lock();
+    try {
+      ensureOpen();
+      if (inFlight < maxConcurrency && queueDepth == 0) {
+        start(generation);
+        return generation.document();
+      }
+      while (queueDepth >= queueCapacity) {
+        switch (rejectionPolicy) {
+          case REJECT -> throw new RejectedExecutionException("Generation queue is full (%d waiting)".formatted(queueDepth));
+          case CALLER_RUNS -> {
+            inFlight++;
+            lock.unlock();
+            CompletableFuture<Document> document;
+            try {
+              document = generate(generation, Runnable::run);
+            } finally {
+              lock.lock();
+            }
+            document.whenComplete((result, throwable) -> finished());
+            return document;
+          }
+          case BLOCK -> {
+            notFull.awaitUninterruptibly();
+            ensureOpen();
+          }
+          default -> throw new IllegalStateException("Unknown rejection policy " + rejectionPolicy);
+        }
+      }
+      enqueue(key, generation);
+      return generation.document();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Get the number of generations waiting to be started.
+   *
+   * @return the queue depth
+   */
+  public int queueDepth() {
+    lock.lock();
+    try {
+      return queueDepth;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Get the number of generations currently running.
+   *
+   * @return the in-flight count
+   */
+  public int inFlight() {
+    lock.lock();
+    try {
+      return inFlight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Stop accepting new generations.
+   * Waiting generations are cancelled, running ones finish. Shuts down the executor if it was created by the builder.
+   */
+  @Override
+  public void close() {
+    List<PendingGeneration> waiting = new ArrayList<>();
+    lock.lock();
+    try {
+      closed = true;
+      queues.values().forEach(waiting::addAll);
+      queues.clear();
+      keys.clear();
+      queueDepth = 0;
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    waiting.forEach(generation -> generation.document().cancel(false));
+    if (ownsExecutor) {
+      executor.shutdown();
+    }
+  }
+
+  private void ensureOpen() {
+    if (closed) {
+      throw new RejectedExecutionException("Generation service has been closed");
+    }
+  }
+
+  private void enqueue(Object key, PendingGeneration generation) {
+    var queue = queues.computeIfAbsent(key, k -> new ArrayDeque<>());
+    if (queue.isEmpty()) {
+      keys.addLast(key);
+    }
+    queue.addLast(generation);
+    queueDepth++;
+    logger.debug("Queued generation for {}, {} waiting", key, queueDepth);
+    generation.document().whenComplete((document, throwable) -> {
+      if (generation.document().isCancelled()) {
+        remove(key, generation);
+      }
+    });
+  }
+
+  private void remove(Object key, PendingGeneration generation) {
+    lock.lock();
+    try {
+      var queue = queues.get(key);
+      if (queue == null || !queue.remove(generation)) {
+        return; // already started or the service has been closed
+      }
+      if (queue.isEmpty()) {
+        queues.remove(key);
+        keys.remove(key);
+      }
+      queueDepth--;
+      notFull.signal();
+      logger.debug("Removed cancelled generation for {}, {} waiting", key, queueDepth);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private Optional<PendingGeneration> dequeue() {
+    var key = keys.pollFirst();
+    if (key == null) {
+      return Optional.empty();
+    }
+    var queue = queues.get(key);
+    var generation = queue.removeFirst();
+    if (queue.isEmpty()) {
+      queues.remove(key);
+    } else {
+      keys.addLast(key); // round-robin between the keys
+    }
+    queueDepth--;
+    notFull.signal();
+    return Optional.of(generation);
+  }
+
+  private void start(PendingGeneration generation) {
+    inFlight++;
+    generate(generation, executor).whenComplete((result, throwable) -> {
+      finished();
+      if (throwable != null) {
+        generation.document().completeExceptionally(throwable);
+      } else {
+        generation.document().complete(result);
+      }
+    });
+  }
+
+  private static CompletableFuture<Document> generate(PendingGeneration generation, Executor executor) {
+    try {
+      return generation.template().generate(generation.resolver(), generation.options(), generation.target(), executor);
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private void finished() {
+    lock.lock();
+    try {
+      inFlight--;
+      drain();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Start waiting generations while there is capacity. A generation failing right away finishes on the thread starting it,
+   * which is then already draining, so the queue is drained in this loop instead of recursively.
+   */
+  private void drain() {
+    if (draining) {
+      return;
+    }
+    draining = true;
+    try {
+      while (!closed && inFlight < maxConcurrency) {
+        var generation = dequeue();
+        if (generation.isEmpty()) {
+          return;
+        }
+        start(generation.get());
+      }
+    } finally {
+      draining = false;
+    }
+  }
+
+  /**
+   * How to handle generations submitted while the queue is full.
+   */
+  public enum RejectionPolicy {
+    /**
+     * Throw a {@link RejectedExecutionException}.
+     */
+    REJECT,
+    /**
+     * Generate the document on the submitting thread, slowing down the submitter.
+     */
+    CALLER_RUNS,
+    /**
+     * Block the submitting thread until there is space in the queue.
+     */
+    BLOCK
+  }
+
+  private record PendingGeneration(Template template, PlaceholderResolver resolver, GenerationOptions options,
+                                   OutputTarget target, CompletableFuture<Document> document) {
+  }
+}
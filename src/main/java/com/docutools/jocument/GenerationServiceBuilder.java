@@ -0,0 +1,72 @@
+package com.docutools.jocument;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Builder for {@link GenerationService}s.
+ * By default, as many documents as there are processors are generated concurrently, up to 1000 further generations are
+ * queued and generations submitted to a full queue are rejected.
+ *
+ * @since 2026-10-19
+ */
+public final class GenerationServiceBuilder {
+
+  private int maxConcurrency = Runtime.getRuntime().availableProcessors();
+  private int queueCapacity = 1000;
+  private GenerationService.RejectionPolicy rejectionPolicy = GenerationService.RejectionPolicy.REJECT;
+  private ExecutorService executor;
+
+  /**
+   * Limit the number of documents generated at the same time.
+   *
+   * @param maxConcurrency the maximum number of concurrent generations
+   * @return this builder
+   */
+  public GenerationServiceBuilder withMaxConcurrency(int maxConcurrency) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("Maximum concurrency has to be at least 1, was %d".formatted(maxConcurrency));
+    }
+    this.maxConcurrency = maxConcurrency;
+    return this;
+  }
+
+  /**
+   * Limit the number of generations waiting to be started.
+   *
+   * @param queueCapacity the maximum number of waiting generations
+   * @return this builder
+   */
+  public GenerationServiceBuilder withQueueCapacity(int queueCapacity) {
+    if (queueCapacity < 0) {
+      throw new IllegalArgumentException("Queue capacity must not be negative, was %d".formatted(queueCapacity));
+    }
+    this.queueCapacity = queueCapacity;
+    return this;
+  }
+
+  public GenerationServiceBuilder withRejectionPolicy(GenerationService.RejectionPolicy rejectionPolicy) {
+    this.rejectionPolicy = Objects.requireNonNull(rejectionPolicy);
+    return this;
+  }
+
+  /**
+   * Run the generations on the given executor, e.g. one of {@link GenerationExecutors#virtualThreads()}.
+   * The executor is not shut down when the service is closed. If none is set, a pool of platform threads matching the
+   * maximum concurrency is created and owned by the service.
+   *
+   * @param executor the executor to run the generations on
+   * @return this builder
+   */
+  public GenerationServiceBuilder withExecutor(ExecutorService executor) {
+    this.executor = Objects.requireNonNull(executor);
+    return this;
+  }
+
+  public GenerationService build() {
+    if (executor != null) {
+      return new GenerationService(executor, false, maxConcurrency, queueCapacity, rejectionPolicy);
+    }
+    return new GenerationService(GenerationExecutors.platformThreads(maxConcurrency), true, maxConcurrency, queueCapacity, rejectionPolicy);
+  }
+}
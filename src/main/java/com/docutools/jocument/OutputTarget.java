@@ -0,0 +1,88 @@
+package com.docutools.jocument;
+
+import com.docutools.jocument.impl.output.PathOutputTarget;
+import com.docutools.jocument.impl.output.StreamOutputTarget;
+import com.docutools.jocument.impl.output.TemporaryFileOutputTarget;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * The destination a {@link Document} is written to.
+ * A target is used for a single document only.
+ *
+ * @since 2026-10-19
+ */
+public interface OutputTarget {
+
+  /**
+   * Writes the document to a new temporary file, available by {@link Document#getPath()}.
+   * The caller is responsible for deleting the file.
+   *
+   * @return the {@link OutputTarget}
+   */
+  static OutputTarget temporaryFile() {
+    return new TemporaryFileOutputTarget();
+  }
+
+  /**
+   * Writes the document to the given file, replacing its content if it exists.
+   *
+   * @param path the file path
+   * @return the {@link OutputTarget}
+   */
+  static OutputTarget toPath(Path path) {
+    return new PathOutputTarget(path);
+  }
+
+  /**
+   * Writes the document to the given stream, e.g. the body of an HTTP response.
+   * The stream is flushed, but not closed after the document has been written.
+   *
+   * @param out the stream
+   * @return the {@link OutputTarget}
+   */
+  static OutputTarget toStream(OutputStream out) {
+    return new StreamOutputTarget(out);
+  }
+
+  /**
+   * Writes the document to the given channel.
+   * The channel is not closed after the document has been written.
+   *
+   * @param channel the channel
+   * @return the {@link OutputTarget}
+   */
+  static OutputTarget toChannel(WritableByteChannel channel) {
+    return new StreamOutputTarget(Channels.newOutputStream(channel));
+  }
+
+  /**
+   * Opens the stream to write the document to. Intended for internal use.
+   *
+   * @param mimeType the {@link MimeType} of the document
+   * @return {@link OutputStream}, caller has to close.
+   * @throws IOException when the stream couldn't be opened.
+   */
+  OutputStream open(MimeType mimeType) throws IOException;
+
+  /**
+   * Get the file the document has been written to.
+   *
+   * @return the file path, if the target is a file and has been opened
+   */
+  default Optional<Path> getPath() {
+    return Optional.empty();
+  }
+
+  /**
+   * Releases what has been written for a document whose generation failed or has been cancelled. Intended for internal use.
+   *
+   * @throws IOException when the written data couldn't be released.
+   */
+  default void discard() throws IOException {
+  }
+}
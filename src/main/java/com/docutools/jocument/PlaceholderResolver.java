@@ -1,9 +1,14 @@
 package com.docutools.jocument;
 
+import com.docutools.jocument.impl.GenerationContext;
 import com.docutools.jocument.impl.ScalarPlaceholderData;
+import com.docutools.jocument.impl.jfr.PlaceholderResolveEvent;
+import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.apache.poi.util.LocaleUtil;
 
 /**
@@ -43,8 +48,48 @@ public abstract class PlaceholderResolver {
    * @return if the name could've been resolved the localised {@link com.docutools.jocument.PlaceholderData}
    */
   public Optional<PlaceholderData> resolve(String placeholderName, Locale locale) {
-    return doResolve(placeholderName, locale)
-        .map(placeholderData -> format(locale, placeholderData));
+    long start = GenerationContext.startResolution();
+    var event = new PlaceholderResolveEvent();
+    event.begin();
+    Optional<PlaceholderData> result = Optional.empty();
+    try {
+      result = doResolve(placeholderName, locale)
+          .map(placeholderData -> format(locale, placeholderData));
+      return result;
+    } finally {
+      GenerationContext.endResolution(start);
+      event.end();
+      if (event.shouldCommit()) {
+        event.template = GenerationContext.currentTemplate();
+        event.placeholder = placeholderName;
+        event.resolver = toString();
+        event.resolved = result.isPresent();
+        event.commit();
+      }
+    }
+  }
+
+  /**
+   * Resolves all placeholders of a scope, e.g. the whole document or the body of a loop for one item, before the scope
+   * is filled. If a resolver overrides it, the generators call it once per scope and only fall back to
+   * {@link #resolve(String, Locale)} for placeholders which are not part of the result.
+   *
+   * <p>The default implementation resolves the placeholders one by one, so the generators skip it and resolve each
+   * placeholder when it is filled. Resolvers backed by a remote store can override it to fetch all values in one round
+   * trip, e.g. by loading them into a cache before delegating to {@code super.resolveAll}, so the values are still
+   * formatted by the {@link GenerationOptions}.</p>
+   *
+   * @param placeholderNames the names of the placeholders in the scope
+   * @param locale           the localisation settings
+   * @return the localised {@link com.docutools.jocument.PlaceholderData} by placeholder name, names missing from the
+   *     result are resolved by {@link #resolve(String, Locale)} when they are filled
+   */
+  public Map<String, PlaceholderData> resolveAll(Set<String> placeholderNames, Locale locale) {
+    Map<String, PlaceholderData> resolved = new LinkedHashMap<>();
+    for (String placeholderName : placeholderNames) {
+      resolve(placeholderName, locale).ifPresent(placeholderData -> resolved.put(placeholderName, placeholderData));
+    }
+    return resolved;
   }
 
   private PlaceholderData format(Locale locale, PlaceholderData original) {
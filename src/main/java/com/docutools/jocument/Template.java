@@ -2,6 +2,7 @@ package com.docutools.jocument;
 
 import com.docutools.jocument.impl.TemplateImpl;
 import com.docutools.jocument.impl.template.InMemoryTemplateSource;
+import com.docutools.jocument.impl.template.MappedTemplateSource;
 import com.docutools.jocument.impl.template.PathTemplateSource;
 import com.docutools.jocument.impl.template.URLTemplateSource;
 import java.io.File;
@@ -13,6 +14,12 @@ import java.net.URL;
 import java.nio.file.Path;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import org.apache.poi.util.LocaleUtil;
 
 /**
@@ -54,6 +61,36 @@ public interface Template {
         .map(url -> new TemplateImpl(new URLTemplateSource(url), mimeType, locale));
   }
 
+  /**
+   * Creates a {@link com.docutools.jocument.Template} instance from a template file on the classpath, reading the file
+   * through the given {@link TemplateCache}.
+   *
+   * @param path   the resource path
+   * @param locale the templates {@link java.util.Locale}
+   * @param cache  the {@link TemplateCache} to keep the template data in
+   * @return the {@link com.docutools.jocument.Template} when the resource was found.
+   * @throws java.lang.IllegalArgumentException when the files MIME type is not supported.
+   */
+  static Optional<Template> fromClassPath(String path, Locale locale, TemplateCache cache) {
+    var mimeType = MimeType.fromFileExtension(path)
+        .orElseThrow(() -> new IllegalArgumentException("Unsupported MIME-Type: " + path));
+    return Optional.ofNullable(Template.class.getResource(path))
+        .map(url -> from(cache.source(url), mimeType, locale));
+  }
+
+  /**
+   * Creates a {@link Template} instance reading the template from the given {@link TemplateSource}, e.g. one of a
+   * {@link TemplateCache}.
+   *
+   * @param source   the {@link TemplateSource}
+   * @param mimeType it's MIME Type
+   * @param locale   the templates {@link Locale}
+   * @return the {@link Template}
+   */
+  static Template from(TemplateSource source, MimeType mimeType, Locale locale) {
+    return new TemplateImpl(source, mimeType, locale);
+  }
+
   /**
    * Creates a {@link Template} instance from a file.
    *
@@ -77,6 +114,22 @@ public interface Template {
     return Optional.of(new TemplateImpl(new PathTemplateSource(path), mimeType, locale));
   }
 
+  /**
+   * Creates a {@link Template} instance from a file mapped into memory.
+   * The mapping is shared by all documents generated from the template, so large templates are neither copied onto the
+   * heap nor read from disk again per document. The file must not change while the template is in use.
+   *
+   * @param path   the file path
+   * @param locale of templates {@link Locale}
+   * @return the {@link Template}
+   * @throws IOException when the file couldn't be mapped
+   */
+  static Optional<Template> fromMapped(Path path, Locale locale) throws IOException {
+    var mimeType = MimeType.fromFileExtension(path.toString())
+        .orElseThrow(() -> new IllegalArgumentException("Unsupported MIME-Type: " + path));
+    return Optional.of(new TemplateImpl(new MappedTemplateSource(path), mimeType, locale));
+  }
+
   /**
    * Creates a {@link Template} instance from a file.
    *
@@ -209,7 +262,111 @@ public interface Template {
    * @param options meta options on how the {@link Document} shall be generated
    * @return the {@link Document}
    */
-  Document startGeneration(PlaceholderResolver resolver, GenerationOptions options);
+  default Document startGeneration(PlaceholderResolver resolver, GenerationOptions options) {
+    return startGeneration(resolver, options, OutputTarget.temporaryFile());
+  }
+
+  /**
+   * Starts the generation of a document for the given {@link com.docutools.jocument.PlaceholderResolver} asynchronously,
+   * writing it straight to the given {@link OutputTarget}.
+   *
+   * @param resolver the {@link com.docutools.jocument.PlaceholderResolver}
+   * @param options  meta options on how the {@link Document} shall be generated
+   * @param target   the {@link OutputTarget} to write the document to
+   * @return the {@link Document}
+   */
+  Document startGeneration(PlaceholderResolver resolver, GenerationOptions options, OutputTarget target);
+
+  /**
+   * Generates a document for the given {@link com.docutools.jocument.PlaceholderResolver} on the given {@link Executor}.
+   * Unlike {@link #startGeneration(PlaceholderResolver)}, no thread is created per document, so the number of
+   * concurrent generations is bounded by the executor. See {@link GenerationExecutors} for suitable executors.
+   *
+   * @param resolver the {@link com.docutools.jocument.PlaceholderResolver}
+   * @param executor the {@link Executor} to run the generation on
+   * @return a future completing with the {@link Document} once it has been generated
+   */
+  default CompletableFuture<Document> generate(PlaceholderResolver resolver, Executor executor) {
+    return generate(resolver, resolver.options, executor);
+  }
+
+  /**
+   * Generates a document for the given {@link com.docutools.jocument.PlaceholderResolver} on the given {@link Executor}.
+   *
+   * @param resolver the {@link com.docutools.jocument.PlaceholderResolver}
+   * @param options  meta options on how the {@link Document} shall be generated
+   * @param executor the {@link Executor} to run the generation on
+   * @return a future completing with the {@link Document} once it has been generated, or exceptionally if the template
+   *     could not be read
+   */
+  default CompletableFuture<Document> generate(PlaceholderResolver resolver, GenerationOptions options, Executor executor) {
+    return generate(resolver, options, OutputTarget.temporaryFile(), executor);
+  }
+
+  /**
+   * Generates a document for the given {@link com.docutools.jocument.PlaceholderResolver} on the given {@link Executor},
+   * writing it straight to the given {@link OutputTarget}.
+   *
+   * @param resolver the {@link com.docutools.jocument.PlaceholderResolver}
+   * @param options  meta options on how the {@link Document} shall be generated
+   * @param target   the {@link OutputTarget} to write the document to
+   * @param executor the {@link Executor} to run the generation on
+   * @return a future completing with the {@link Document} once it has been generated, or exceptionally if the template
+   *     could not be read or the document could not be written
+   */
+  CompletableFuture<Document> generate(PlaceholderResolver resolver, GenerationOptions options, OutputTarget target, Executor executor);
+
+  /**
+   * Generates a document for each of the given {@link com.docutools.jocument.PlaceholderResolver}s on the calling thread,
+   * writing each to a new temporary file.
+   *
+   * @param resolvers the {@link com.docutools.jocument.PlaceholderResolver}s, one per document
+   * @param options   meta options on how the {@link Document}s shall be generated
+   * @param sink      receives the generated {@link Document}s in the order of the resolvers
+   * @param failures  receives the resolver and the cause of each document which could not be generated
+   * @throws IOException when the template couldn't be read
+   * @see #generateAll(Iterable, GenerationOptions, Function, Consumer, BiConsumer)
+   */
+  default void generateAll(Iterable<? extends PlaceholderResolver> resolvers, GenerationOptions options, Consumer<? super Document> sink,
+                           BiConsumer<? super PlaceholderResolver, ? super Throwable> failures) throws IOException {
+    generateAll(resolvers, options, resolver -> OutputTarget.temporaryFile(), sink, failures);
+  }
+
+  /**
+   * Generates a document for each of the given {@link com.docutools.jocument.PlaceholderResolver}s on the calling thread.
+   * The template is read only once and kept in memory for all documents, so sources like URLs are not fetched again per
+   * document. Each document is still parsed from the buffered template, since the generation fills the parsed document in
+   * place and POI can not copy it cheaper than parsing it again.
+   *
+   * <p>A document which can not be generated is reported to {@code failures} and the batch continues with the next
+   * resolver, so {@code sink} only receives completed documents.</p>
+   *
+   * @param resolvers the {@link com.docutools.jocument.PlaceholderResolver}s, one per document
+   * @param options   meta options on how the {@link Document}s shall be generated
+   * @param targets   creates the {@link OutputTarget} for the document of a resolver
+   * @param sink      receives the generated {@link Document}s in the order of the resolvers
+   * @param failures  receives the resolver and the cause of each document which could not be generated
+   * @throws IOException when the template couldn't be read
+   */
+  default void generateAll(Iterable<? extends PlaceholderResolver> resolvers, GenerationOptions options,
+                           Function<? super PlaceholderResolver, OutputTarget> targets, Consumer<? super Document> sink,
+                           BiConsumer<? super PlaceholderResolver, ? super Throwable> failures) throws IOException {
+    Template snapshot;
+    try (InputStream in = openStream()) {
+      snapshot = new TemplateImpl(new InMemoryTemplateSource(in.readAllBytes(), toString()), getMimeType(), getLocale());
+    }
+    for (PlaceholderResolver resolver : resolvers) {
+      Document document;
+      try {
+        // runs on this thread, the future is done once generate returns
+        document = snapshot.generate(resolver, options, targets.apply(resolver), Runnable::run).join();
+      } catch (CompletionException e) {
+        failures.accept(resolver, e.getCause());
+        continue;
+      }
+      sink.accept(document);
+    }
+  }
 
   /**
    * Opens a {@link java.io.InputStream} to the template file. Intended for internal use.
@@ -0,0 +1,290 @@
+package com.docutools.jocument;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Keeps the data of templates in memory, so they are not read again for every generated document.
+ * The cache is bounded by the total size of the cached templates, the least recently used templates are evicted first.
+ *
+ * <p>Before a cached template is used, it is revalidated: file templates by their modification time and size, URL
+ * templates by a conditional request using the {@code ETag} and {@code Last-Modified} headers (or the modification time
+ * for {@code file:} and {@code jar:} URLs). A cache created by {@link #watching(long)} instead invalidates file templates
+ * when a {@link WatchService} reports a change, which saves the revalidation for every document.</p>
+ *
+ * @since 2026-10-19
+ */
+public final class TemplateCache implements AutoCloseable {
+  private static final Logger logger = LogManager.getLogger();
+
+  private final Cache<Object, CachedTemplate> cache;
+  private final Optional<WatchService> watchService;
+  private final Map<Path, WatchKey> watchedDirectories = new ConcurrentHashMap<>();
+  /**
+   * Counts the changes reported by the {@link WatchService}, so reading a template does not cache data which was changed
+   * while reading it.
+   */
+  private final AtomicLong changes = new AtomicLong();
+
+  private TemplateCache(long maximumBytes, Optional<WatchService> watchService) {
+    this.cache = CacheBuilder.newBuilder()
+        .maximumWeight(maximumBytes)
+        .weigher((Object key, CachedTemplate template) -> template.data().length)
+        .build();
+    this.watchService = watchService;
+    watchService.ifPresent(this::startWatching);
+  }
+
+  /**
+   * Creates a cache revalidating templates before each use.
+   *
+   * @param maximumBytes the maximum total size of the cached templates
+   * @return the {@link TemplateCache}
+   */
+  public static TemplateCache revalidating(long maximumBytes) {
+    return new TemplateCache(maximumBytes, Optional.empty());
+  }
+
+  /**
+   * Creates a cache invalidating file templates when their file changes, for hot-reloading templates in long-running
+   * services. URL templates are still revalidated before each use.
+   *
+   * @param maximumBytes the maximum total size of the cached templates
+   * @return the {@link TemplateCache}, has to be closed to stop watching
+   * @throws IOException if the {@link WatchService} couldn't be created
+   */
+  public static TemplateCache watching(long maximumBytes) throws IOException {
+    return new TemplateCache(maximumBytes, Optional.of(FileSystems.getDefault().newWatchService()));
+  }
+
+  /**
+   * Get a {@link TemplateSource} for a file, reading the file through this cache.
+   *
+   * @param path the file path
+   * @return the {@link TemplateSource}
+   * @throws IOException if the directory of the file couldn't be watched
+   */
+  public TemplateSource source(Path path) throws IOException {
+    Path absolutePath = path.toAbsolutePath().normalize();
+    if (watchService.isPresent()) {
+      watch(absolutePath.getParent());
+    }
+    return new CachedSource(absolutePath.toString(), () -> openPath(absolutePath));
+  }
+
+  /**
+   * Get a {@link TemplateSource} for a URL, e.g. a classpath resource, reading the URL through this cache.
+   *
+   * @param url the URL
+   * @return the {@link TemplateSource}
+   */
+  public TemplateSource source(URL url) {
+    return new CachedSource(url.toExternalForm(), () -> openUrl(url));
+  }
+
+  public void invalidate(Path path) {
+    cache.invalidate(path.toAbsolutePath().normalize());
+  }
+
+  public void invalidate(URL url) {
+    cache.invalidate(url.toExternalForm());
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * Stops watching for changed files, the cached templates stay available.
+   *
+   * @throws IOException if the {@link WatchService} couldn't be closed
+   */
+  @Override
+  public void close() throws IOException {
+    if (watchService.isPresent()) {
+      watchedDirectories.clear();
+      watchService.get().close();
+    }
+  }
+
+  private InputStream openPath(Path path) throws IOException {
+    var cached = cache.getIfPresent(path);
+    if (cached != null && isWatched(path.getParent())) {
+      return new ByteArrayInputStream(cached.data());
+    }
+    return openFile(path, path);
+  }
+
+  private InputStream openFile(Object key, Path path) throws IOException {
+    var cached = cache.getIfPresent(key);
+    // attributes are read before the data, a change while reading leaves an entry failing the next revalidation
+    var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    if (cached instanceof CachedFile cachedFile
+        && cachedFile.lastModified().equals(attributes.lastModifiedTime())
+        && cachedFile.size() == attributes.size()) {
+      return new ByteArrayInputStream(cachedFile.data());
+    }
+    long changesBefore = changes.get();
+    logger.debug("Reading template {}", path);
+    var data = Files.readAllBytes(path);
+    cache.put(key, new CachedFile(data, attributes.lastModifiedTime(), attributes.size()));
+    if (changes.get() != changesBefore) {
+      // a change reported while reading invalidated nothing yet, so the data read might already be stale
+      cache.invalidate(key);
+    }
+    return new ByteArrayInputStream(data);
+  }
+
+  /**
+   * Whether changes of the files in the directory invalidate their templates. A directory which stopped being watched,
+   * e.g. because it was deleted, is registered again, but its templates are revalidated once for the missed changes.
+   */
+  private boolean isWatched(Path directory) {
+    if (watchService.isEmpty()) {
+      return false;
+    }
+    if (watchedDirectories.containsKey(directory)) {
+      return true;
+    }
+    try {
+      watch(directory);
+    } catch (IOException | ClosedWatchServiceException e) {
+      logger.debug("Could not watch template directory {} again", directory, e);
+    }
+    return false;
+  }
+
+  private InputStream openUrl(URL url) throws IOException {
+    String key = url.toExternalForm(); // URL#equals resolves host names
+    if ("file".equals(url.getProtocol())) {
+      var path = toPath(url);
+      if (path.isPresent()) {
+        return openFile(key, path.get()); // reads the attributes without opening the file
+      }
+    }
+    var cached = cache.getIfPresent(key) instanceof CachedUrl cachedUrl ? cachedUrl : null;
+    URLConnection connection = url.openConnection();
+    if (connection instanceof HttpURLConnection httpConnection) {
+      if (cached != null) {
+        cached.etag().ifPresent(etag -> httpConnection.setRequestProperty("If-None-Match", etag));
+        cached.lastModified().ifPresent(lastModified -> httpConnection.setRequestProperty("If-Modified-Since", lastModified));
+      }
+      if (cached != null && httpConnection.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+        httpConnection.disconnect();
+        return new ByteArrayInputStream(cached.data());
+      }
+    } else if (cached != null
+        && cached.modificationTime() == connection.getLastModified()
+        && cached.data().length == connection.getContentLengthLong()) {
+      connection.getInputStream().close(); // getting the headers opened the stream, e.g. of the jar entry
+      return new ByteArrayInputStream(cached.data());
+    }
+    logger.debug("Reading template {}", url);
+    byte[] data;
+    try (InputStream in = connection.getInputStream()) {
+      data = in.readAllBytes();
+    }
+    cache.put(key, new CachedUrl(data,
+        Optional.ofNullable(connection.getHeaderField("ETag")),
+        Optional.ofNullable(connection.getHeaderField("Last-Modified")),
+        connection.getLastModified()));
+    return new ByteArrayInputStream(data);
+  }
+
+  private static Optional<Path> toPath(URL url) {
+    try {
+      return Optional.of(Path.of(url.toURI()).toAbsolutePath().normalize());
+    } catch (URISyntaxException | IllegalArgumentException e) {
+      logger.debug("Could not convert {} to a path, reading it as URL", url, e);
+      return Optional.empty();
+    }
+  }
+
+  private void watch(Path directory) throws IOException {
+    if (watchedDirectories.containsKey(directory)) {
+      return;
+    }
+    var key = directory.register(watchService.orElseThrow(),
+        StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+    watchedDirectories.put(directory, key);
+  }
+
+  private void startWatching(WatchService service) {
+    var watcher = new Thread(() -> {
+      try {
+        while (true) {
+          var key = service.take();
+          var directory = (Path) key.watchable();
+          for (WatchEvent<?> event : key.pollEvents()) {
+            changes.incrementAndGet();
+            if (event.context() instanceof Path changed) {
+              logger.debug("Template {} changed, invalidating", changed);
+              cache.invalidate(directory.resolve(changed));
+            } else {
+              // overflow, changes might have been lost
+              cache.invalidateAll();
+            }
+          }
+          if (!key.reset()) {
+            watchedDirectories.remove(directory);
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ClosedWatchServiceException e) {
+        logger.debug("Stopped watching templates");
+      }
+    }, "jocument-template-watcher");
+    watcher.setDaemon(true);
+    watcher.start();
+  }
+
+  /**
+   * A source reading through the cache, named after the file or URL it reads.
+   */
+  private record CachedSource(String name, TemplateSource source) implements TemplateSource {
+    @Override
+    public InputStream open() throws IOException {
+      return source.open();
+    }
+
+    @Override
+    public String toString() {
+      return name;
+    }
+  }
+
+  private sealed interface CachedTemplate permits CachedFile, CachedUrl {
+    byte[] data();
+  }
+
+  private record CachedFile(byte[] data, FileTime lastModified, long size) implements CachedTemplate {
+  }
+
+  private record CachedUrl(byte[] data, Optional<String> etag, Optional<String> lastModified, long modificationTime)
+      implements CachedTemplate {
+  }
+}
@@ -1,6 +1,7 @@
 package com.docutools.jocument.image;
 
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -49,6 +50,29 @@ public final class DefaultImageReference extends ImageReference {
     return saveAs(".png", "PNG");
   }
 
+  @Override
+  public byte[] encodeAsJpeg() throws IOException, NoWriterFoundException {
+    return encodeAs("JPEG");
+  }
+
+  @Override
+  public byte[] encodeAsPng() throws IOException, NoWriterFoundException {
+    return encodeAs("PNG");
+  }
+
+  private byte[] encodeAs(String formatName) throws IOException, NoWriterFoundException {
+    if (image == null) {
+      throw new ImageReferenceClosedException("Image was already closed.");
+    }
+
+    var out = new ByteArrayOutputStream();
+    if (!ImageIO.write(image, formatName, out)) {
+      throw new NoWriterFoundException(formatName);
+    }
+    log.trace("Encoded image {} as {}", id, formatName);
+    return out.toByteArray();
+  }
+
   private Path saveAs(String suffix, String formatName) throws IOException, NoWriterFoundException {
     if (image == null) {
       throw new ImageReferenceClosedException("Image was already closed.");
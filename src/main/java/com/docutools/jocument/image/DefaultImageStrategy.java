@@ -1,12 +1,13 @@
 package com.docutools.jocument.image;
 
 import java.awt.Dimension;
-import java.awt.geom.AffineTransform;
-import java.awt.image.AffineTransformOp;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Iterator;
 import javax.imageio.ImageIO;
 import javax.imageio.ImageReader;
@@ -14,7 +15,15 @@ import javax.imageio.stream.FileImageInputStream;
 import javax.imageio.stream.ImageInputStream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.tika.Tika;
 
+/**
+ * The {@link ImageStrategy} based on {@link ImageIO} and Java2D.
+ *
+ * <p>Images are reduced according to the {@link ScalingMode} of the instance. Before scaling, images are converted to
+ * {@link BufferedImage#TYPE_INT_RGB} or {@link BufferedImage#TYPE_INT_ARGB}, since Java2D has fast loops for these types
+ * while e.g. JPEGs decoded as {@link BufferedImage#TYPE_CUSTOM} are scaled pixel by pixel.</p>
+ */
 public final class DefaultImageStrategy implements ImageStrategy {
 
   private static final Logger log = LogManager.getLogger(DefaultImageStrategy.class);
@@ -24,8 +33,11 @@ public final class DefaultImageStrategy implements ImageStrategy {
   //https://stackoverflow.com/a/7855774/4786733
   private static volatile DefaultImageStrategy INSTANCE;
 
+  private final ScalingMode scalingMode;
+
   /**
-   * Gets the singleton instance of the defualt {@link ImageStrategy} prefered by jocument.
+   * Gets the singleton instance of the defualt {@link ImageStrategy} prefered by jocument, scaling images with
+   * {@link ScalingMode#FAST}.
    *
    * @return the default {@link ImageStrategy}
    */
@@ -35,7 +47,7 @@ public final class DefaultImageStrategy implements ImageStrategy {
       synchronized (MUTEX) {
         localRef = INSTANCE;
         if (localRef == null) {
-          localRef = INSTANCE = new DefaultImageStrategy();
+          localRef = INSTANCE = new DefaultImageStrategy(ScalingMode.FAST);
           log.trace("Initialized singleton");
         }
       }
@@ -43,7 +55,25 @@ public final class DefaultImageStrategy implements ImageStrategy {
     return localRef;
   }
 
-  private DefaultImageStrategy() {
+  /**
+   * Gets the singleton instance of the default {@link ImageStrategy} using the given {@link ScalingMode}.
+   *
+   * @param scalingMode how images are reduced
+   * @return the {@link ImageStrategy}
+   */
+  public static DefaultImageStrategy instance(ScalingMode scalingMode) {
+    return switch (scalingMode) {
+      case FAST -> instance();
+      case QUALITY -> QualityInstance.INSTANCE;
+    };
+  }
+
+  private DefaultImageStrategy(ScalingMode scalingMode) {
+    this.scalingMode = scalingMode;
+  }
+
+  public ScalingMode getScalingMode() {
+    return scalingMode;
   }
 
   @Override
@@ -56,22 +86,201 @@ public final class DefaultImageStrategy implements ImageStrategy {
     return new DefaultImageReference(image);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>With {@link ScalingMode#FAST}, the image is subsampled while decoding to no less than twice the bounds, so the
+   * full image is never held in memory.</p>
+   */
+  @Override
+  public ImageReference load(Path path, int maxWidth, int maxHeight) throws IOException, IncompatibleImageReferenceException {
+    if (scalingMode != ScalingMode.FAST) {
+      return load(path);
+    }
+    log.trace("Loading image from '{}' to fit {}x{}", path, maxWidth, maxHeight);
+    try (ImageInputStream stream = ImageIO.createImageInputStream(path.toFile())) {
+      Iterator<ImageReader> readers = stream != null ? ImageIO.getImageReaders(stream) : null;
+      if (readers == null || !readers.hasNext()) {
+        throw new IncompatibleImageReferenceException("Could not read image %s".formatted(path));
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(stream, true, true);
+        double scale = Math.max(reader.getWidth(0) / (double) maxWidth, reader.getHeight(0) / (double) maxHeight);
+        int subsampling = (int) (scale / 2);
+        var param = reader.getDefaultReadParam();
+        if (subsampling > 1) {
+          param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+        }
+        return new DefaultImageReference(reader.read(0, param));
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
   @Override
   public ImageReference scale(ImageReference original, double scaleBy) throws IncompatibleImageReferenceException {
-    log.trace("Scaling image {} by factor {}", original, scaleBy);
+    log.trace("Scaling image {} by factor {} ({})", original, scaleBy, scalingMode);
 
     if (original instanceof DefaultImageReference ref) {
       var source = ref.getImage();
-      var target = new BufferedImage((int) (source.getWidth() * scaleBy), (int) (source.getHeight() * scaleBy), source.getType());
-      var at = new AffineTransform();
-      at.scale(scaleBy, scaleBy);
-      var op = new AffineTransformOp(at, AffineTransformOp.TYPE_BILINEAR);
-      op.filter(source, target);
+      int width = Math.max(1, (int) (source.getWidth() * scaleBy));
+      int height = Math.max(1, (int) (source.getHeight() * scaleBy));
+      var target = switch (scalingMode) {
+        case FAST -> scaleProgressively(source, width, height);
+        case QUALITY -> scaleAreaAverage(source, width, height);
+      };
       return new DefaultImageReference(target);
     }
     throw new IncompatibleImageReferenceException("Image reference {} not instance of DefaultImageReference %s".formatted(original.getId()));
   }
 
+  /**
+   * Converts the image to {@link BufferedImage#TYPE_INT_RGB} or {@link BufferedImage#TYPE_INT_ARGB}.
+   *
+   * @param image the image
+   * @return the image itself if it already has one of these types, otherwise a converted copy
+   */
+  static BufferedImage normalize(BufferedImage image) {
+    int type = image.getType();
+    if (type == BufferedImage.TYPE_INT_RGB || type == BufferedImage.TYPE_INT_ARGB) {
+      return image;
+    }
+    var normalized = new BufferedImage(image.getWidth(), image.getHeight(),
+        image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+    var graphics = normalized.createGraphics();
+    try {
+      graphics.drawImage(image, 0, 0, null);
+    } finally {
+      graphics.dispose();
+    }
+    return normalized;
+  }
+
+  /**
+   * Halves the image with bilinear interpolation until it is less than twice the target size, then scales it to the
+   * target size. Each step only averages neighbouring pixels, so halving avoids the aliasing of a single bilinear pass.
+   */
+  private static BufferedImage scaleProgressively(BufferedImage source, int width, int height) {
+    var current = normalize(source);
+    int currentWidth = current.getWidth();
+    int currentHeight = current.getHeight();
+    do {
+      currentWidth = currentWidth / 2 >= width ? currentWidth / 2 : width;
+      currentHeight = currentHeight / 2 >= height ? currentHeight / 2 : height;
+      current = drawScaled(current, currentWidth, currentHeight);
+    } while (currentWidth != width || currentHeight != height);
+    return current;
+  }
+
+  private static BufferedImage drawScaled(BufferedImage source, int width, int height) {
+    var target = new BufferedImage(width, height, source.getType());
+    var graphics = target.createGraphics();
+    try {
+      graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      graphics.drawImage(source, 0, 0, width, height, null);
+    } finally {
+      graphics.dispose();
+    }
+    return target;
+  }
+
+  /**
+   * Sets each target pixel to the average of the source pixels it covers, weighted by the covered area. Rows are reduced
+   * horizontally one at a time, so only a few rows are kept besides the source and target image. Colors are weighted by
+   * their alpha, so transparent pixels do not bleed into their neighbours.
+   */
+  private static BufferedImage scaleAreaAverage(BufferedImage source, int width, int height) {
+    var image = normalize(source);
+    int sourceWidth = image.getWidth();
+    int sourceHeight = image.getHeight();
+    if (width >= sourceWidth || height >= sourceHeight) {
+      return drawScaled(image, width, height);
+    }
+    boolean alpha = image.getType() == BufferedImage.TYPE_INT_ARGB;
+    var columns = spans(sourceWidth, width);
+    var rows = spans(sourceHeight, height);
+    int[] row = new int[sourceWidth];
+    int[] targetRow = new int[width];
+    float[] reduced = new float[width * 4];
+    float[] sum = new float[width * 4];
+    var sourceRaster = image.getRaster();
+    var target = new BufferedImage(width, height, image.getType());
+    var targetRaster = target.getRaster();
+    for (int y = 0; y < height; y++) {
+      Arrays.fill(sum, 0f);
+      var rowSpan = rows[y];
+      for (int j = 0; j < rowSpan.weights().length; j++) {
+        sourceRaster.getDataElements(0, rowSpan.first() + j, sourceWidth, 1, row);
+        reduceRow(row, columns, alpha, reduced);
+        float weight = rowSpan.weights()[j];
+        for (int i = 0; i < sum.length; i++) {
+          sum[i] += weight * reduced[i];
+        }
+      }
+      for (int x = 0; x < width; x++) {
+        targetRow[x] = pack(sum, x, alpha);
+      }
+      targetRaster.setDataElements(0, y, width, 1, targetRow);
+    }
+    return target;
+  }
+
+  private static void reduceRow(int[] row, Span[] columns, boolean alpha, float[] reduced) {
+    for (int x = 0; x < columns.length; x++) {
+      var span = columns[x];
+      float a = 0f;
+      float r = 0f;
+      float g = 0f;
+      float b = 0f;
+      for (int i = 0; i < span.weights().length; i++) {
+        int pixel = row[span.first() + i];
+        float weight = alpha ? span.weights()[i] * (pixel >>> 24) / 255f : span.weights()[i];
+        a += weight;
+        r += weight * ((pixel >> 16) & 0xFF);
+        g += weight * ((pixel >> 8) & 0xFF);
+        b += weight * (pixel & 0xFF);
+      }
+      reduced[x * 4] = a;
+      reduced[x * 4 + 1] = r;
+      reduced[x * 4 + 2] = g;
+      reduced[x * 4 + 3] = b;
+    }
+  }
+
+  private static int pack(float[] sum, int x, boolean alpha) {
+    float a = sum[x * 4];
+    if (a <= 0f) {
+      return 0;
+    }
+    int r = Math.min(255, Math.round(sum[x * 4 + 1] / a));
+    int g = Math.min(255, Math.round(sum[x * 4 + 2] / a));
+    int b = Math.min(255, Math.round(sum[x * 4 + 3] / a));
+    int argb = r << 16 | g << 8 | b;
+    return alpha ? Math.min(255, Math.round(a * 255f)) << 24 | argb : argb;
+  }
+
+  /**
+   * Computes the source pixels covered by each target pixel and the share of each of them.
+   */
+  private static Span[] spans(int sourceSize, int targetSize) {
+    double ratio = sourceSize / (double) targetSize;
+    var spans = new Span[targetSize];
+    for (int i = 0; i < targetSize; i++) {
+      double start = i * ratio;
+      double end = start + ratio;
+      int first = (int) start;
+      int last = Math.min(sourceSize - 1, (int) Math.ceil(end) - 1);
+      var weights = new float[last - first + 1];
+      for (int j = first; j <= last; j++) {
+        weights[j - first] = (float) ((Math.min(end, j + 1) - Math.max(start, j)) / ratio);
+      }
+      spans[i] = new Span(first, weights);
+    }
+    return spans;
+  }
+
   @Override
   // https://stackoverflow.com/a/12164026/4786733
   public Dimension getDimensions(Path path) throws IOException {
@@ -98,4 +307,52 @@ public final class DefaultImageStrategy implements ImageStrategy {
   public String getMimeType(Path path) throws IOException {
     return Files.probeContentType(path);
   }
+
+  @Override
+  public ImageReference load(byte[] image) throws IOException, IncompatibleImageReferenceException {
+    log.trace("Loading image from {} bytes", image.length);
+    var bufferedImage = ImageIO.read(new ByteArrayInputStream(image));
+    if (bufferedImage == null) {
+      throw new IncompatibleImageReferenceException("Could not read image of %d bytes".formatted(image.length));
+    }
+    return new DefaultImageReference(bufferedImage);
+  }
+
+  @Override
+  public Dimension getDimensions(byte[] image) throws IOException {
+    try (ImageInputStream stream = ImageIO.createImageInputStream(new ByteArrayInputStream(image))) {
+      Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+      if (!readers.hasNext()) {
+        throw new IOException("Not a known image of %d bytes".formatted(image.length));
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(stream, true, true);
+        return new Dimension(reader.getWidth(reader.getMinIndex()), reader.getHeight(reader.getMinIndex()));
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The type is detected by the magic bytes of the image, so vector formats like EMF and WMF are recognized as well.</p>
+   */
+  @Override
+  public String getMimeType(byte[] image) throws IOException {
+    return TikaInstance.INSTANCE.detect(image);
+  }
+
+  private record Span(int first, float[] weights) {
+  }
+
+  private static final class QualityInstance {
+    private static final DefaultImageStrategy INSTANCE = new DefaultImageStrategy(ScalingMode.QUALITY);
+  }
+
+  private static final class TikaInstance {
+    private static final Tika INSTANCE = new Tika();
+  }
 }
@@ -0,0 +1,436 @@
+package com.docutools.jocument.image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Downloads images referenced by URL in the data of a document, e.g. by the {@link com.docutools.jocument.impl.JsonResolver}.
+ * Use the {@link ImageFetcherBuilder} to create one.
+ *
+ * <ul>
+ *   <li>At most {@code parallelism} images are downloaded at the same time, on threads owned by the fetcher.</li>
+ *   <li>Concurrent requests of the same URL share one download.</li>
+ *   <li>Downloaded images are stored in a content-addressed cache directory, named by the SHA-256 hash of their content,
+ *   so identical images behind different URLs are stored once. The directory is bounded by its total size, the least
+ *   recently used images are deleted first. Images returned within the pin duration are not deleted, so the generation
+ *   using them can still read them.</li>
+ *   <li>A cached image is used for its URL during the revalidation interval. Afterwards the URL is checked for changes,
+ *   by a conditional request using the {@code ETag} and {@code Last-Modified} headers for HTTP URLs, or by downloading it
+ *   again for other URLs.</li>
+ *   <li>Each download has to finish within the fetch timeout after it has started, otherwise its future fails with a
+ *   {@link TimeoutException} and the download is aborted. Waiting for an image is bounded by the timeout passed to
+ *   {@link #get(URL, Duration)}.</li>
+ * </ul>
+ *
+ * <p>By default, the cache directory is a new temporary directory of the fetcher, deleted when it is closed. A cache
+ * directory configured by {@link ImageFetcherBuilder#withCacheDirectory(Path)} is shared between the fetchers and
+ * processes using it and kept on close.</p>
+ *
+ * <p>The returned files belong to the cache and must not be deleted or modified by the caller.</p>
+ *
+ * @since 2026-10-19
+ */
+public final class ImageFetcher implements AutoCloseable {
+  private static final Logger logger = LogManager.getLogger();
+  private static final String INDEX_DIRECTORY = "index";
+  private static final String DOWNLOAD_PREFIX = "download-";
+  private static final AtomicInteger FETCHER_NUMBER = new AtomicInteger();
+  private static ImageFetcher defaultFetcher;
+
+  private final Duration fetchTimeout;
+  private final Path cacheDirectory;
+  private final boolean ownsCacheDirectory;
+  private final Path indexDirectory;
+  private final long maximumCacheBytes;
+  private final Duration revalidationInterval;
+  private final Duration pinDuration;
+  private final ExecutorService executor;
+  private final Map<String, CompletableFuture<Path>> fetches = new ConcurrentHashMap<>();
+
+  ImageFetcher(int parallelism, Duration fetchTimeout, Optional<Path> cacheDirectory, long maximumCacheBytes,
+               Duration revalidationInterval, Duration pinDuration) {
+    this.fetchTimeout = fetchTimeout;
+    this.maximumCacheBytes = maximumCacheBytes;
+    this.revalidationInterval = revalidationInterval;
+    this.pinDuration = pinDuration;
+    try {
+      this.cacheDirectory = cacheDirectory.isPresent() ? cacheDirectory.get() : Files.createTempDirectory("jocument-images-");
+      this.ownsCacheDirectory = cacheDirectory.isEmpty();
+      this.indexDirectory = this.cacheDirectory.resolve(INDEX_DIRECTORY);
+      Files.createDirectories(indexDirectory);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not create image cache in %s"
+          .formatted(cacheDirectory.map(Path::toString).orElse("temporary directory")), e);
+    }
+    int fetcherNumber = FETCHER_NUMBER.incrementAndGet();
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+      var thread = new Thread(runnable, "jocument-image-fetcher-%d-%d".formatted(fetcherNumber, threadNumber.incrementAndGet()));
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Get the fetcher used by resolvers which have not been given one, created with the defaults of the
+   * {@link ImageFetcherBuilder} on first use. Its cache directory is private to this process and deleted when the
+   * process exits.
+   *
+   * @return the default {@link ImageFetcher}
+   */
+  public static synchronized ImageFetcher defaultFetcher() {
+    if (defaultFetcher == null) {
+      var fetcher = new ImageFetcherBuilder().build();
+      Runtime.getRuntime().addShutdownHook(new Thread(fetcher::close, "jocument-image-fetcher-cleanup"));
+      defaultFetcher = fetcher;
+    }
+    return defaultFetcher;
+  }
+
+  /**
+   * Start downloading the image, if it is neither cached nor already being downloaded.
+   *
+   * @param url the image URL
+   * @return a future completing with the cached image file
+   */
+  public CompletableFuture<Path> fetch(URL url) {
+    String key = url.toExternalForm(); // URL#equals resolves host names
+    var fetch = fetches.computeIfAbsent(key, k -> start(url));
+    fetch.whenComplete((image, throwable) -> fetches.remove(key, fetch));
+    return fetch;
+  }
+
+  /**
+   * Get the time each download may take, also the default time {@link #get(URL)} waits for an image.
+   *
+   * @return the fetch timeout
+   */
+  public Duration fetchTimeout() {
+    return fetchTimeout;
+  }
+
+  /**
+   * Start downloading all images, e.g. all image URLs found in the data of a document before it is generated.
+   *
+   * @param urls the image URLs
+   */
+  public void prefetch(Collection<URL> urls) {
+    logger.debug("Prefetching {} images", urls.size());
+    urls.forEach(this::fetch);
+  }
+
+  /**
+   * Get the image, waiting for its download if necessary. The image is pinned in the cache for the pin duration.
+   *
+   * @param url     the image URL
+   * @param timeout the maximum time to wait for the download
+   * @return the cached image file, empty if it could not be downloaded in time
+   */
+  public Optional<Path> get(URL url, Duration timeout) {
+    try {
+      Path image = fetch(url).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+      touch(image);
+      return Optional.of(image);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Optional.empty();
+    } catch (ExecutionException e) {
+      logger.warn("Could not fetch image {}", url, e.getCause());
+      return Optional.empty();
+    } catch (TimeoutException e) {
+      logger.warn("Fetching image {} did not finish within {}", url, timeout);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Get the image, waiting at most for the fetch timeout.
+   *
+   * @param url the image URL
+   * @return the cached image file, empty if it could not be downloaded in time
+   */
+  public Optional<Path> get(URL url) {
+    return get(url, fetchTimeout);
+  }
+
+  /**
+   * Stop downloading, running downloads are interrupted. The cached images stay on disk, unless the cache directory has
+   * been created by this fetcher.
+   */
+  @Override
+  public void close() {
+    executor.shutdownNow();
+    fetches.values().forEach(fetch -> fetch.cancel(false)); // queued downloads never start
+    synchronized (ImageFetcher.class) {
+      if (defaultFetcher == this) {
+        defaultFetcher = null;
+      }
+    }
+    if (ownsCacheDirectory) {
+      try (Stream<Path> files = Files.walk(cacheDirectory)) {
+        files.sorted(Comparator.reverseOrder()).forEach(ImageFetcher::delete);
+      } catch (IOException e) {
+        logger.debug("Could not delete image cache {}", cacheDirectory, e);
+      }
+    }
+  }
+
+  /**
+   * Queue the download of the image. The fetch timeout starts when a thread picks up the download, not when it is queued,
+   * so prefetching many images does not let the queued ones time out.
+   */
+  private CompletableFuture<Path> start(URL url) {
+    var fetch = new CompletableFuture<Path>();
+    executor.execute(() -> {
+      long deadline = System.nanoTime() + fetchTimeout.toNanos();
+      fetch.orTimeout(fetchTimeout.toNanos(), TimeUnit.NANOSECONDS);
+      try {
+        fetch.complete(load(url, deadline));
+      } catch (RuntimeException e) {
+        fetch.completeExceptionally(e);
+      }
+    });
+    return fetch;
+  }
+
+  private Path load(URL url, long deadline) {
+    try {
+      Path indexFile = indexDirectory.resolve(sha256(url.toExternalForm()));
+      var cached = lookup(indexFile);
+      if (cached.isPresent() && cached.get().validated().toInstant().plus(revalidationInterval).isAfter(Instant.now())) {
+        logger.debug("Image {} is cached in {}", url, cached.get().image());
+        touch(cached.get().image());
+        return cached.get().image();
+      }
+      return download(url, indexFile, cached, deadline);
+    } catch (IOException e) {
+      throw new CompletionException(e);
+    }
+  }
+
+  private Optional<IndexEntry> lookup(Path indexFile) throws IOException {
+    try {
+      var lines = Files.readAllLines(indexFile, StandardCharsets.US_ASCII);
+      if (lines.isEmpty()) {
+        return Optional.empty();
+      }
+      Path image = cacheDirectory.resolve(lines.get(0).strip());
+      if (!Files.exists(image)) {
+        return Optional.empty();
+      }
+      return Optional.of(new IndexEntry(image, header(lines, 1), header(lines, 2), Files.getLastModifiedTime(indexFile)));
+    } catch (NoSuchFileException e) {
+      return Optional.empty();
+    }
+  }
+
+  private Path download(URL url, Path indexFile, Optional<IndexEntry> cached, long deadline) throws IOException {
+    URLConnection connection = url.openConnection();
+    // the timeouts bound each connect and read, the deadline is checked between the reads
+    int timeout = (int) Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining(url, deadline)));
+    connection.setConnectTimeout(timeout);
+    connection.setReadTimeout(timeout);
+    if (cached.isPresent() && connection instanceof HttpURLConnection httpConnection) {
+      cached.get().etag().ifPresent(etag -> httpConnection.setRequestProperty("If-None-Match", etag));
+      cached.get().lastModified().ifPresent(lastModified -> httpConnection.setRequestProperty("If-Modified-Since", lastModified));
+      if (httpConnection.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+        httpConnection.disconnect();
+        Path image = cached.get().image();
+        if (Files.exists(image)) { // not evicted meanwhile
+          logger.debug("Image {} is unchanged, cached in {}", url, image);
+          touch(image);
+          writeIndex(indexFile, image, cached.get().etag(), cached.get().lastModified());
+          return image;
+        }
+        return download(url, indexFile, Optional.empty(), deadline);
+      }
+    }
+    logger.debug("Downloading image {}", url);
+    Path download = Files.createTempFile(cacheDirectory, DOWNLOAD_PREFIX, ".tmp");
+    try {
+      MessageDigest digest = newDigest();
+      try (InputStream in = new DigestInputStream(connection.getInputStream(), digest);
+           OutputStream out = Files.newOutputStream(download)) {
+        byte[] buffer = new byte[8192];
+        for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+          out.write(buffer, 0, read);
+          remaining(url, deadline);
+        }
+      }
+      Path image = cacheDirectory.resolve(HexFormat.of().formatHex(digest.digest()));
+      try {
+        Files.move(download, image, StandardCopyOption.ATOMIC_MOVE);
+        evict(image);
+      } catch (FileAlreadyExistsException e) {
+        logger.debug("Image {} has already been cached from another URL", url);
+        touch(image);
+      }
+      writeIndex(indexFile, image, Optional.ofNullable(connection.getHeaderField("ETag")),
+          Optional.ofNullable(connection.getHeaderField("Last-Modified")));
+      return image;
+    } finally {
+      Files.deleteIfExists(download);
+    }
+  }
+
+  /**
+   * Point the URL of the index file to the image. The index file is replaced atomically, since other processes might read
+   * it, and its modification time is the time the image has been validated.
+   */
+  private void writeIndex(Path indexFile, Path image, Optional<String> etag, Optional<String> lastModified) throws IOException {
+    Path temporary = Files.createTempFile(indexDirectory, DOWNLOAD_PREFIX, ".tmp");
+    try {
+      Files.write(temporary, List.of(image.getFileName().toString(), etag.orElse(""), lastModified.orElse("")),
+          StandardCharsets.US_ASCII);
+      Files.move(temporary, indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  /**
+   * Delete the least recently used images until the cache directory fits its maximum size. The size is taken from the
+   * directory, since other fetchers and processes might share it. Images used within the pin duration are kept.
+   *
+   * @param keep the image just downloaded, which is kept even if it exceeds the maximum size on its own
+   */
+  private synchronized void evict(Path keep) throws IOException {
+    List<Path> images = cachedFiles();
+    long cacheBytes = images.stream().mapToLong(ImageFetcher::size).sum();
+    if (cacheBytes <= maximumCacheBytes) {
+      return;
+    }
+    images.remove(keep);
+    images.sort(Comparator.comparing(ImageFetcher::lastModified));
+    Instant pinnedSince = Instant.now().minus(pinDuration);
+    for (Path image : images) {
+      if (cacheBytes <= maximumCacheBytes || lastModified(image).toInstant().isAfter(pinnedSince)) {
+        break; // the remaining images have been used even more recently
+      }
+      long size = size(image);
+      if (Files.deleteIfExists(image)) {
+        cacheBytes -= size;
+        logger.debug("Evicted image {} from cache", image);
+      }
+    }
+  }
+
+  private List<Path> cachedFiles() throws IOException {
+    List<Path> files = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(cacheDirectory, Files::isRegularFile)) {
+      stream.forEach(files::add);
+    }
+    files.removeIf(file -> file.getFileName().toString().startsWith(DOWNLOAD_PREFIX));
+    return files;
+  }
+
+  /**
+   * Get the time left for the download.
+   *
+   * @throws InterruptedIOException if the deadline has passed, which aborts the download
+   */
+  private long remaining(URL url, long deadline) throws InterruptedIOException {
+    long remaining = deadline - System.nanoTime();
+    if (remaining <= 0) {
+      throw new InterruptedIOException("Download of %s exceeded the fetch timeout of %s".formatted(url, fetchTimeout));
+    }
+    return remaining;
+  }
+
+  private static Optional<String> header(List<String> lines, int index) {
+    return index < lines.size() && !lines.get(index).isBlank() ? Optional.of(lines.get(index)) : Optional.empty();
+  }
+
+  private static void touch(Path image) {
+    try {
+      Files.setLastModifiedTime(image, FileTime.from(Instant.now()));
+    } catch (IOException e) {
+      logger.debug("Could not update access time of {}", image, e);
+    }
+  }
+
+  private static void delete(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      logger.debug("Could not delete {}", file, e);
+    }
+  }
+
+  private static long size(Path file) {
+    try {
+      return Files.size(file);
+    } catch (IOException e) {
+      return 0;
+    }
+  }
+
+  private static FileTime lastModified(Path file) {
+    try {
+      return Files.getLastModifiedTime(file);
+    } catch (IOException e) {
+      return FileTime.fromMillis(0);
+    }
+  }
+
+  private static String sha256(String value) {
+    return HexFormat.of().formatHex(newDigest().digest(value.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported", e);
+    }
+  }
+
+  /**
+   * The image cached for a URL.
+   *
+   * @param image        the image file
+   * @param etag         the {@code ETag} header of the download
+   * @param lastModified the {@code Last-Modified} header of the download
+   * @param validated    when the image was downloaded or last found unchanged
+   */
+  private record IndexEntry(Path image, Optional<String> etag, Optional<String> lastModified, FileTime validated) {
+  }
+}
@@ -0,0 +1,112 @@
+package com.docutools.jocument.image;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Builder for {@link ImageFetcher}s.
+ * By default, four images are downloaded at the same time, each download may take 30 seconds, and up to 256 MB of
+ * images are cached in a new temporary directory of the fetcher. A cached image is used for one minute before its URL is
+ * checked for changes, and is not evicted for ten minutes after it has been returned.
+ *
+ * @since 2026-10-19
+ */
+public final class ImageFetcherBuilder {
+
+  private int parallelism = 4;
+  private Duration fetchTimeout = Duration.ofSeconds(30);
+  private Optional<Path> cacheDirectory = Optional.empty();
+  private long maximumCacheBytes = 256L * 1024 * 1024;
+  private Duration revalidationInterval = Duration.ofMinutes(1);
+  private Duration pinDuration = Duration.ofMinutes(10);
+
+  /**
+   * Limit the number of images downloaded at the same time.
+   *
+   * @param parallelism the maximum number of concurrent downloads
+   * @return this builder
+   */
+  public ImageFetcherBuilder withParallelism(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism has to be at least 1, was %d".formatted(parallelism));
+    }
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  /**
+   * Limit the time a download may take in total, from connecting to reading the last byte, so slowly trickling
+   * responses are aborted as well. It is also the default time to wait for an image.
+   *
+   * @param fetchTimeout the timeout per download
+   * @return this builder
+   */
+  public ImageFetcherBuilder withFetchTimeout(Duration fetchTimeout) {
+    if (fetchTimeout.isNegative() || fetchTimeout.isZero()) {
+      throw new IllegalArgumentException("Fetch timeout has to be positive, was %s".formatted(fetchTimeout));
+    }
+    this.fetchTimeout = fetchTimeout;
+    return this;
+  }
+
+  /**
+   * Cache the images in the given directory, which can be shared by fetchers of several processes and is kept when the
+   * fetcher is closed.
+   *
+   * @param cacheDirectory the cache directory
+   * @return this builder
+   */
+  public ImageFetcherBuilder withCacheDirectory(Path cacheDirectory) {
+    this.cacheDirectory = Optional.of(Objects.requireNonNull(cacheDirectory));
+    return this;
+  }
+
+  /**
+   * Limit the total size of the cached images, the least recently used images are deleted first.
+   *
+   * @param maximumCacheBytes the maximum size of the cache directory
+   * @return this builder
+   */
+  public ImageFetcherBuilder withMaximumCacheBytes(long maximumCacheBytes) {
+    if (maximumCacheBytes < 0) {
+      throw new IllegalArgumentException("Maximum cache size must not be negative, was %d".formatted(maximumCacheBytes));
+    }
+    this.maximumCacheBytes = maximumCacheBytes;
+    return this;
+  }
+
+  /**
+   * Set how long a cached image is used for its URL before the URL is checked for changes.
+   *
+   * @param revalidationInterval the time between checks, zero to check on every download
+   * @return this builder
+   */
+  public ImageFetcherBuilder withRevalidationInterval(Duration revalidationInterval) {
+    if (revalidationInterval.isNegative()) {
+      throw new IllegalArgumentException("Revalidation interval must not be negative, was %s".formatted(revalidationInterval));
+    }
+    this.revalidationInterval = revalidationInterval;
+    return this;
+  }
+
+  /**
+   * Set how long an image is kept in the cache after it has been returned, even if the cache exceeds its maximum size,
+   * so the generation using the image can still read it.
+   *
+   * @param pinDuration the time returned images are kept
+   * @return this builder
+   */
+  public ImageFetcherBuilder withPinDuration(Duration pinDuration) {
+    if (pinDuration.isNegative()) {
+      throw new IllegalArgumentException("Pin duration must not be negative, was %s".formatted(pinDuration));
+    }
+    this.pinDuration = pinDuration;
+    return this;
+  }
+
+  public ImageFetcher build() {
+    return new ImageFetcher(parallelism, fetchTimeout, cacheDirectory, maximumCacheBytes, revalidationInterval, pinDuration);
+  }
+}
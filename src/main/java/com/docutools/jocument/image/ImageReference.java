@@ -1,6 +1,7 @@
 package com.docutools.jocument.image;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.UUID;
 
@@ -66,9 +67,37 @@ public abstract class ImageReference implements AutoCloseable {
 
   public abstract Path saveAsPng() throws IOException, NoWriterFoundException;
 
+  /**
+   * Encodes the image as JPEG. The default implementation saves it to a temporary file by {@link #saveAsJpeg()} and
+   * reads it back.
+   *
+   * @return the JPEG data
+   */
+  public byte[] encodeAsJpeg() throws IOException, NoWriterFoundException {
+    return readAndDelete(saveAsJpeg());
+  }
+
+  /**
+   * Encodes the image as PNG. The default implementation saves it to a temporary file by {@link #saveAsPng()} and reads
+   * it back.
+   *
+   * @return the PNG data
+   */
+  public byte[] encodeAsPng() throws IOException, NoWriterFoundException {
+    return readAndDelete(saveAsPng());
+  }
+
   @Override
   public abstract void close();
 
+  private static byte[] readAndDelete(Path file) throws IOException {
+    try {
+      return Files.readAllBytes(file);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
   @Override
   public String toString() {
     return "ImageReference[%s, %dx%d]".formatted(id, width, height);
@@ -1,7 +1,10 @@
 package com.docutools.jocument.image;
 
 import java.awt.Dimension;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.net.URLConnection;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 /**
@@ -30,6 +33,21 @@ public interface ImageStrategy {
    */
   ImageReference load(Path path) throws IOException, IncompatibleImageReferenceException;
 
+  /**
+   * Loads an image which will be scaled down to fit the given bounds. Implementations may reduce the image while
+   * decoding, as long as the loaded image is not smaller than the bounds, so the caller still has to scale it.
+   *
+   * <p>The caller is responsible for calling {@link ImageReference#close()}.</p>
+   *
+   * @param path      the path to the image file
+   * @param maxWidth  the maximum width the image is scaled to, not bounded if {@code <= 0}
+   * @param maxHeight the maximum height the image is scaled to, not bounded if {@code <= 0}
+   * @return the reference to the in-memory image
+   */
+  default ImageReference load(Path path, int maxWidth, int maxHeight) throws IOException, IncompatibleImageReferenceException {
+    return load(path);
+  }
+
   /**
    * Scales an image by the given factor (can be > or < to 1.0) into a new in-memory image and returns it. The OG
    * image remains untouched.
@@ -54,4 +72,57 @@ public interface ImageStrategy {
   Dimension getDimensions(Path path) throws IOException;
 
   String getMimeType(Path path) throws IOException;
+
+  /**
+   * Loads an image from its encoded data, e.g. a JPEG read from an object storage.
+   * The default implementation writes the data to a temporary file and loads it by {@link #load(Path)}.
+   *
+   * <p>The caller is responsible for calling {@link ImageReference#close()}.</p>
+   *
+   * @param image the encoded image
+   * @return the reference to the in-memory image
+   */
+  default ImageReference load(byte[] image) throws IOException, IncompatibleImageReferenceException {
+    var file = Files.createTempFile("jocument-", ".img");
+    try {
+      Files.write(file, image);
+      return load(file);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Gets the dimensions of an encoded image.
+   * The default implementation writes the data to a temporary file and probes it by {@link #getDimensions(Path)}.
+   *
+   * @param image the encoded image
+   * @return the {@link Dimension} of the image
+   * @throws IOException if the data is not a valid image
+   */
+  default Dimension getDimensions(byte[] image) throws IOException {
+    var file = Files.createTempFile("jocument-", ".img");
+    try {
+      Files.write(file, image);
+      return getDimensions(file);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Gets the MIME type of an encoded image from its content.
+   * The default implementation only recognizes the common image types known to {@link URLConnection}.
+   *
+   * @param image the encoded image
+   * @return the MIME type, e.g. {@code image/png}
+   * @throws IOException if the type couldn't be determined
+   */
+  default String getMimeType(byte[] image) throws IOException {
+    var mimeType = URLConnection.guessContentTypeFromStream(new ByteArrayInputStream(image));
+    if (mimeType == null) {
+      throw new IOException("Unknown image type");
+    }
+    return mimeType;
+  }
 }
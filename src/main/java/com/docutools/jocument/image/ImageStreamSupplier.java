@@ -0,0 +1,22 @@
+package com.docutools.jocument.image;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Opens the data of an image, e.g. an object of an object storage, when it is inserted into a document.
+ * The stream is read once and closed by jocument.
+ *
+ * @since 2026-10-19
+ */
+@FunctionalInterface
+public interface ImageStreamSupplier {
+
+  /**
+   * Opens a new stream of the image data.
+   *
+   * @return the stream, closed by the caller
+   * @throws IOException if the image couldn't be opened
+   */
+  InputStream open() throws IOException;
+}
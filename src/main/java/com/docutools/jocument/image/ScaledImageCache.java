@@ -0,0 +1,251 @@
+package com.docutools.jocument.image;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Keeps the encoded results of scaling images, so an image placed with the same bounds in many documents, e.g. a product
+ * photo in a catalog generated per customer, is decoded, scaled and encoded only once.
+ * Pass it to the generations with {@link com.docutools.jocument.GenerationOptionsBuilder#withScaledImageCache(ScaledImageCache)}.
+ *
+ * <p>Results are keyed by the source, the bounds it was scaled to and the {@link ImageStrategy} used. A source file is
+ * identified by its path, modification time and size, so a changed file is scaled again. An image held in memory is
+ * identified by the SHA-256 hash of its encoded data, so the same image read again, e.g. from an object storage, is
+ * found as well. The cached images are returned as they are, without being copied, and must not be modified.</p>
+ *
+ * <p>The cache is bounded by the total size of the encoded images, the least recently used ones are evicted first. A
+ * cache created by {@link #spilling(long, Path, long)} moves evicted images to a directory instead of dropping them,
+ * which is bounded by its own size.</p>
+ *
+ * @since 2026-10-19
+ */
+public final class ScaledImageCache implements AutoCloseable {
+  private static final Logger logger = LogManager.getLogger();
+
+  private final Cache<Key, byte[]> cache;
+  private final Optional<Path> spillDirectory;
+  private final long maximumSpillBytes;
+  /**
+   * The spilled images in the order they have been used, guarded by itself.
+   */
+  private final LinkedHashMap<Key, SpilledImage> spilled = new LinkedHashMap<>(16, 0.75f, true);
+  private final LongAdder hits = new LongAdder();
+  private long spillBytes = 0;
+
+  private ScaledImageCache(long maximumBytes, Optional<Path> spillDirectory, long maximumSpillBytes) {
+    this.spillDirectory = spillDirectory;
+    this.maximumSpillBytes = maximumSpillBytes;
+    this.cache = CacheBuilder.newBuilder()
+        .maximumWeight(maximumBytes)
+        .weigher((Key key, byte[] image) -> image.length)
+        .removalListener(this::evicted)
+        .build();
+  }
+
+  /**
+   * Creates a cache keeping the scaled images in memory.
+   *
+   * @param maximumBytes the maximum total size of the cached images
+   * @return the {@link ScaledImageCache}
+   */
+  public static ScaledImageCache inMemory(long maximumBytes) {
+    return new ScaledImageCache(maximumBytes, Optional.empty(), 0);
+  }
+
+  /**
+   * Creates a cache keeping the scaled images in memory and moving the images evicted from memory to a directory.
+   *
+   * @param maximumBytes      the maximum total size of the images cached in memory
+   * @param spillDirectory    the directory to move evicted images to
+   * @param maximumSpillBytes the maximum total size of the images in the directory
+   * @return the {@link ScaledImageCache}, has to be closed to delete the spilled images
+   * @throws IOException if the directory couldn't be created
+   */
+  public static ScaledImageCache spilling(long maximumBytes, Path spillDirectory, long maximumSpillBytes) throws IOException {
+    Files.createDirectories(spillDirectory);
+    return new ScaledImageCache(maximumBytes, Optional.of(spillDirectory), maximumSpillBytes);
+  }
+
+  /**
+   * Get the scaled image of a file from the cache, or scale it and cache the result.
+   *
+   * @param source    the source image file
+   * @param maxWidth  the maximum width the image is scaled to
+   * @param maxHeight the maximum height the image is scaled to
+   * @param strategy  the {@link ImageStrategy} scaling the image
+   * @param scaler    scales and encodes the image, returns {@code null} if it couldn't be scaled
+   * @return the encoded scaled image, {@code null} if it couldn't be scaled
+   */
+  public byte[] get(Path source, int maxWidth, int maxHeight, ImageStrategy strategy, Supplier<byte[]> scaler) {
+    Source key;
+    try {
+      var attributes = Files.readAttributes(source, BasicFileAttributes.class);
+      key = new FileSource(source.toAbsolutePath().normalize(), attributes.lastModifiedTime(), attributes.size());
+    } catch (IOException e) {
+      logger.debug("Could not read attributes of {}, not caching", source, e);
+      return scaler.get();
+    }
+    return get(new Key(key, maxWidth, maxHeight, strategy), scaler, null);
+  }
+
+  /**
+   * Get the scaled image of an encoded image held in memory from the cache, or scale it and cache the result.
+   *
+   * @param source    the encoded source image
+   * @param maxWidth  the maximum width the image is scaled to
+   * @param maxHeight the maximum height the image is scaled to
+   * @param strategy  the {@link ImageStrategy} scaling the image
+   * @param scaler    scales and encodes the image, may return the source if it doesn't have to be scaled and
+   *                  {@code null} if it couldn't be scaled
+   * @return the encoded scaled image, the source if it doesn't have to be scaled, {@code null} if it couldn't be scaled
+   */
+  public byte[] get(byte[] source, int maxWidth, int maxHeight, ImageStrategy strategy, Supplier<byte[]> scaler) {
+    return get(new Key(new ContentSource(sha256(source)), maxWidth, maxHeight, strategy), scaler, source);
+  }
+
+  private byte[] get(Key key, Supplier<byte[]> scaler, byte[] source) {
+    try {
+      var cached = lookup(key);
+      if (cached.isPresent()) {
+        hits.increment();
+        return cached.get();
+      }
+    } catch (IOException e) {
+      logger.warn("Could not read scaled image {} from cache", key.source(), e);
+    }
+    byte[] scaled = scaler.get();
+    if (scaled != null && scaled != source) { // do not keep a source which is owned by the caller
+      cache.put(key, scaled);
+    }
+    return scaled;
+  }
+
+  /**
+   * Get the number of images taken from the cache instead of being scaled.
+   *
+   * @return the hit count
+   */
+  public long hitCount() {
+    return hits.sum();
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+    clearSpilled();
+  }
+
+  /**
+   * Deletes the spilled images, the images cached in memory stay available.
+   */
+  @Override
+  public void close() {
+    clearSpilled();
+  }
+
+  private Optional<byte[]> lookup(Key key) throws IOException {
+    var cached = cache.getIfPresent(key);
+    if (cached != null || spillDirectory.isEmpty()) {
+      return Optional.ofNullable(cached);
+    }
+    SpilledImage spilledImage;
+    synchronized (spilled) {
+      spilledImage = spilled.remove(key);
+      if (spilledImage != null) {
+        spillBytes -= spilledImage.size();
+      }
+    }
+    if (spilledImage == null) {
+      return Optional.empty();
+    }
+    logger.debug("Loading scaled image {} from {}", key.source(), spilledImage.file());
+    var image = Files.readAllBytes(spilledImage.file());
+    Files.deleteIfExists(spilledImage.file());
+    cache.put(key, image);
+    return Optional.of(image);
+  }
+
+  private void evicted(RemovalNotification<Key, byte[]> notification) {
+    if (spillDirectory.isEmpty() || notification.getCause() != RemovalCause.SIZE) {
+      return;
+    }
+    var image = notification.getValue();
+    try {
+      var file = Files.createTempFile(spillDirectory.get(), "scaled-", ".img");
+      Files.write(file, image);
+      synchronized (spilled) {
+        var previous = spilled.put(notification.getKey(), new SpilledImage(file, image.length));
+        spillBytes += image.length;
+        if (previous != null) {
+          delete(previous);
+        }
+        Iterator<SpilledImage> iterator = spilled.values().iterator();
+        while (spillBytes > maximumSpillBytes && iterator.hasNext()) {
+          var eldest = iterator.next();
+          iterator.remove();
+          delete(eldest);
+        }
+      }
+    } catch (IOException e) {
+      logger.warn("Could not spill scaled image {}", notification.getKey().source(), e);
+    }
+  }
+
+  private void clearSpilled() {
+    synchronized (spilled) {
+      spilled.values().forEach(this::delete);
+      spilled.clear();
+    }
+  }
+
+  private void delete(SpilledImage image) {
+    spillBytes -= image.size();
+    try {
+      Files.deleteIfExists(image.file());
+    } catch (IOException e) {
+      logger.warn("Could not delete spilled image {}", image.file(), e);
+    }
+  }
+
+  private static String sha256(byte[] data) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported", e);
+    }
+  }
+
+  private record Key(Source source, int maxWidth, int maxHeight, ImageStrategy strategy) {
+  }
+
+  /**
+   * Identifies the image a cached image has been scaled from.
+   */
+  private sealed interface Source permits FileSource, ContentSource {
+  }
+
+  private record FileSource(Path path, FileTime lastModified, long size) implements Source {
+  }
+
+  private record ContentSource(String sha256) implements Source {
+  }
+
+  private record SpilledImage(Path file, long size) {
+  }
+}
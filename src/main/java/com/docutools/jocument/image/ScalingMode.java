@@ -0,0 +1,19 @@
+package com.docutools.jocument.image;
+
+/**
+ * How the {@link DefaultImageStrategy} reduces large images.
+ *
+ * @since 2026-10-19
+ */
+public enum ScalingMode {
+  /**
+   * Subsample the image while decoding, then halve it progressively with bilinear interpolation down to the target size.
+   * Much faster and lighter on memory for large reductions, with slight aliasing of fine patterns.
+   */
+  FAST,
+  /**
+   * Decode the full image and average the area of the source pixels covered by each target pixel.
+   * Free of aliasing, but slower than {@link #FAST} for large images.
+   */
+  QUALITY
+}
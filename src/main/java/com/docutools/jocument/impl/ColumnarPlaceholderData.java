@@ -0,0 +1,216 @@
+package com.docutools.jocument.impl;
+
+import com.docutools.jocument.PlaceholderData;
+import com.docutools.jocument.PlaceholderResolver;
+import com.docutools.jocument.PlaceholderType;
+import java.text.NumberFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A {@link PlaceholderType#SET} backed by primitive columns instead of one object per item.
+ * Each column is keyed by the placeholder name it resolves and holds one value per item of the loop.
+ *
+ * <p>The {@link com.docutools.jocument.impl.excel.implementations.ExcelGenerator} writes loops over this data
+ * directly from the columns, without creating a {@link PlaceholderResolver} per item or boxing numeric values.
+ * Other generators fall back to {@link #stream()}, which creates lightweight resolvers per item.</p>
+ *
+ * @since 2026-10-19
+ */
+public class ColumnarPlaceholderData implements PlaceholderData {
+
+  private final int rowCount;
+  private final Map<String, Column> columns = new LinkedHashMap<>();
+  private PlaceholderResolver parent;
+
+  /**
+   * Creates a new columnar set without any columns.
+   *
+   * @param rowCount the number of items, every column has to have exactly this many values
+   */
+  public ColumnarPlaceholderData(int rowCount) {
+    if (rowCount < 0) {
+      throw new IllegalArgumentException("Row count must not be negative, was %d".formatted(rowCount));
+    }
+    this.rowCount = rowCount;
+  }
+
+  /**
+   * Adds a numeric column, which is inserted as numeric cell value.
+   *
+   * @param name   the placeholder name of the column
+   * @param values one value per item
+   * @return this columnar set
+   */
+  public ColumnarPlaceholderData withColumn(String name, double[] values) {
+    return withColumn(name, new DoubleColumn(values), values.length);
+  }
+
+  /**
+   * Adds an integral column, which is inserted as numeric cell value.
+   *
+   * @param name   the placeholder name of the column
+   * @param values one value per item
+   * @return this columnar set
+   */
+  public ColumnarPlaceholderData withColumn(String name, long[] values) {
+    return withColumn(name, new LongColumn(values), values.length);
+  }
+
+  /**
+   * Adds a text column. {@code null} values are inserted as empty text.
+   *
+   * @param name   the placeholder name of the column
+   * @param values one value per item
+   * @return this columnar set
+   */
+  public ColumnarPlaceholderData withColumn(String name, String[] values) {
+    return withColumn(name, new StringColumn(values), values.length);
+  }
+
+  /**
+   * Sets the resolver used for placeholders which are not backed by a column, and for the parent symbol {@code @}.
+   *
+   * @param parent the enclosing resolver
+   * @return this columnar set
+   */
+  public ColumnarPlaceholderData withParent(PlaceholderResolver parent) {
+    this.parent = parent;
+    return this;
+  }
+
+  private ColumnarPlaceholderData withColumn(String name, Column column, int length) {
+    if (length != rowCount) {
+      throw new IllegalArgumentException("Column %s has %d values, expected %d".formatted(name, length, rowCount));
+    }
+    columns.put(name, column);
+    return this;
+  }
+
+  /**
+   * Gets the column backing the given placeholder name.
+   *
+   * @param name the placeholder name
+   * @return the {@link Column} if there is one for the placeholder
+   */
+  public Optional<Column> column(String name) {
+    return Optional.ofNullable(columns.get(name));
+  }
+
+  public boolean hasColumn(String name) {
+    return columns.containsKey(name);
+  }
+
+  @Override
+  public PlaceholderType getType() {
+    return PlaceholderType.SET;
+  }
+
+  @Override
+  public Stream<PlaceholderResolver> stream() {
+    return IntStream.range(0, rowCount)
+        .mapToObj(ColumnarRowResolver::new);
+  }
+
+  @Override
+  public long count() {
+    return rowCount;
+  }
+
+  @Override
+  public String toString() {
+    return "ColumnarPlaceholderData[%d rows, columns %s]".formatted(rowCount, columns.keySet());
+  }
+
+  /**
+   * A single column of a {@link ColumnarPlaceholderData}.
+   */
+  public sealed interface Column permits DoubleColumn, LongColumn, StringColumn {
+
+    /**
+     * Formats the value of the given item as text.
+     *
+     * @param row          the index of the item
+     * @param numberFormat the format to use for numeric values
+     * @return the text representation
+     */
+    String format(int row, NumberFormat numberFormat);
+
+    /**
+     * Wraps the value of the given item into {@link PlaceholderData}.
+     *
+     * @param row    the index of the item
+     * @param locale the locale used for formatting numeric values
+     * @return the {@link PlaceholderData}
+     */
+    PlaceholderData toPlaceholderData(int row, Locale locale);
+  }
+
+  public record DoubleColumn(double[] values) implements Column {
+    @Override
+    public String format(int row, NumberFormat numberFormat) {
+      return numberFormat.format(values[row]);
+    }
+
+    @Override
+    public PlaceholderData toPlaceholderData(int row, Locale locale) {
+      return new ScalarPlaceholderData<>(values[row], value -> NumberFormat.getInstance(locale).format(value));
+    }
+  }
+
+  public record LongColumn(long[] values) implements Column {
+    @Override
+    public String format(int row, NumberFormat numberFormat) {
+      return numberFormat.format(values[row]);
+    }
+
+    @Override
+    public PlaceholderData toPlaceholderData(int row, Locale locale) {
+      return new ScalarPlaceholderData<>(values[row], value -> NumberFormat.getInstance(locale).format(value));
+    }
+  }
+
+  public record StringColumn(String[] values) implements Column {
+    @Override
+    public String format(int row, NumberFormat numberFormat) {
+      return values[row] != null ? values[row] : "";
+    }
+
+    @Override
+    public PlaceholderData toPlaceholderData(int row, Locale locale) {
+      return new ScalarPlaceholderData<>(format(row, null));
+    }
+  }
+
+  /**
+   * Resolves the placeholders of a single item, only used when the set is not consumed column-wise.
+   */
+  private class ColumnarRowResolver extends PlaceholderResolver {
+    private static final String PARENT_SYMBOL = "@";
+
+    private final int row;
+
+    private ColumnarRowResolver(int row) {
+      this.row = row;
+    }
+
+    @Override
+    protected Optional<PlaceholderData> doResolve(String placeholderName, Locale locale) {
+      if (PARENT_SYMBOL.equals(placeholderName)) {
+        return Optional.ofNullable(parent).map(IterablePlaceholderData::of);
+      }
+      return column(placeholderName)
+          .map(column -> column.toPlaceholderData(row, locale))
+          .or(() -> Optional.ofNullable(parent).flatMap(parentResolver -> parentResolver.resolve(placeholderName, locale)));
+    }
+
+    @Override
+    public String toString() {
+      return "Row %d of %s".formatted(row, ColumnarPlaceholderData.this);
+    }
+  }
+}
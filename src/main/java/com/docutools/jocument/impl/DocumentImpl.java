@@ -1,17 +1,32 @@
 package com.docutools.jocument.impl;
 
 import com.docutools.jocument.Document;
+import com.docutools.jocument.GenerationCancelledException;
 import com.docutools.jocument.GenerationOptions;
+import com.docutools.jocument.GenerationPhase;
+import com.docutools.jocument.OutputTarget;
 import com.docutools.jocument.PlaceholderResolver;
 import com.docutools.jocument.Template;
+import com.docutools.jocument.impl.jfr.DocumentGenerationEvent;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.regex.Pattern;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.poi.util.LocaleUtil;
 
-public abstract class DocumentImpl extends Thread implements Document {
+/**
+ * Base class of the generated documents.
+ * A document is generated by running it, either on its own thread or on an {@link java.util.concurrent.Executor}.
+ * {@link #completion()} completes once the generation has finished.
+ */
+public abstract class DocumentImpl implements Runnable, Document {
   public static final String GERMAN_SPECIAL_CHARACTERS = "ÄäÖöÜüß";
   public static final Pattern TAG_PATTERN = Pattern.compile("\\{\\{([A-Za-z\\d" + GERMAN_SPECIAL_CHARACTERS + "@\\-/#.]+\\??)}}");
   public static final Pattern LOOP_END_PATTERN = Pattern.compile("\\{\\{/([A-Za-z\\d" + GERMAN_SPECIAL_CHARACTERS + "@\\-/#.]+\\??)}}");
@@ -19,9 +34,16 @@ public abstract class DocumentImpl extends Thread implements Document {
   protected final Template template;
   protected final PlaceholderResolver resolver;
   protected final GenerationOptions options;
+  private final OutputTarget target;
 
-  private boolean complete = false;
-  private Path path;
+  private final CompletableFuture<Document> completion = new CompletableFuture<>();
+  private final GenerationContext context;
+  /**
+   * The thread currently generating the document, interrupted on cancellation.
+   */
+  private Thread runner;
+  private volatile boolean complete = false;
+  private volatile Path path;
 
   /**
    * Property constructor.
@@ -31,37 +53,150 @@ public abstract class DocumentImpl extends Thread implements Document {
    * @param options {@link GenerationOptions}
    */
   protected DocumentImpl(Template template, PlaceholderResolver resolver, GenerationOptions options) {
+    this(template, resolver, options, OutputTarget.temporaryFile());
+  }
+
+  /**
+   * Property constructor.
+   *
+   * @param template {@link Template}
+   * @param resolver {@link PlaceholderResolver}
+   * @param options  {@link GenerationOptions}
+   * @param target   {@link OutputTarget} to write the document to
+   */
+  protected DocumentImpl(Template template, PlaceholderResolver resolver, GenerationOptions options, OutputTarget target) {
     this.template = template;
     this.resolver = resolver;
     this.options = options;
+    this.target = target;
+    this.context = new GenerationContext(options, template.toString(), template.getMimeType());
   }
 
-  protected abstract Path generate() throws IOException;
+  /**
+   * Generate the document and write it to the stream.
+   *
+   * @param out The stream to write the document to, closed by the caller
+   * @throws IOException If reading of the template or writing of the document fails.
+   */
+  protected abstract void generate(OutputStream out) throws IOException;
 
   @Override
   public void run() {
+    synchronized (this) {
+      runner = Thread.currentThread();
+    }
+    // LU is thread-local, restore the locale of the thread afterwards since it might be pooled
+    Locale previousLocale = LocaleUtil.getUserLocale();
+    GenerationContext previousContext = context.enter();
+    long start = GenerationContext.startTimer();
+    var event = new DocumentGenerationEvent();
+    event.begin();
     try {
-      LocaleUtil.setUserLocale(template.getLocale()); // LU is thread-local
+      LocaleUtil.setUserLocale(template.getLocale());
+      context.check();
       logger.info("Starting generating document from path {} with template {} and resolver {}", path, template, resolver);
-      this.path = generate();
+      try (OutputStream out = target.open(template.getMimeType())) {
+        generate(out);
+      }
+      this.path = target.getPath().orElse(null);
+      context.emitResolutions();
+      GenerationContext.record(GenerationPhase.GENERATION, start, 1, null);
       logger.info("Finished generating document from path {} with template {} and resolver {}", path, template, resolver);
-    }  catch (IOException e) {
+    } catch (GenerationCancelledException e) {
+      stopped(e);
+      return;
+    } catch (IOException e) {
+      if (context.isCancelled()) { // interrupted I/O
+        stopped(new GenerationCancelledException("Generation has been cancelled"));
+        return;
+      }
       logger
           .error("Encountered IOException when generating document from path %s with template %s and resolver %s".formatted(path, template, resolver),
               e);
-      throw new IllegalStateException("Got IOException when generating, probably due to template.", e);
+      failed(new IllegalStateException("Got IOException when generating, probably due to template.", e));
+      return;
     } catch (Exception e) {
+      if (context.isCancelled()) {
+        stopped(new GenerationCancelledException("Generation has been cancelled"));
+        return;
+      }
       logger
           .error("Encountered exception when generating document from path %s with template %s and resolver %s".formatted(path, template, resolver),
               e);
+      failed(e);
+      return;
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.template = template.toString();
+        event.mimeType = template.getMimeType().getValue();
+        event.resolver = resolver.toString();
+        event.commit();
+      }
+      LocaleUtil.setUserLocale(previousLocale);
+      GenerationContext.leave(previousContext);
+      synchronized (this) {
+        runner = null;
+        Thread.interrupted(); // do not leak an interrupt of cancel() into the next task of a pooled thread
+      }
     }
     complete = true;
+    completion.complete(this);
+  }
+
+  private void stopped(GenerationCancelledException e) {
+    logger.warn("Stopped generating document with template {} and resolver {}: {}", template, resolver, e.getMessage());
+    failed(e);
+  }
+
+  private void failed(Exception e) {
+    try {
+      target.discard();
+    } catch (IOException ex) {
+      logger.warn("Could not discard output of unfinished document", ex);
+    }
+    completion.completeExceptionally(e);
+  }
+
+  @Override
+  public void cancel() {
+    if (completion.isDone()) {
+      return;
+    }
+    logger.info("Cancelling generation with template {} and resolver {}", template, resolver);
+    context.cancel();
+    synchronized (this) {
+      if (runner != null) {
+        runner.interrupt();
+      }
+    }
+  }
+
+  /**
+   * Get the future completing when the generation of this document has finished.
+   * It completes exceptionally if the generation failed or has been cancelled, e.g. if the template could not be read, a
+   * placeholder could not be resolved or the document could not be written.
+   *
+   * @return The completion of this document
+   */
+  public CompletableFuture<Document> completion() {
+    return completion;
   }
 
   @Override
   public void blockUntilCompletion(long millis) throws InterruptedException {
     logger.info("Waiting for completion for {} milliseconds", millis);
-    super.join(millis);
+    try {
+      if (millis == 0) { // same as Thread#join, wait forever
+        completion.get();
+      } else {
+        completion.get(millis, TimeUnit.MILLISECONDS);
+      }
+    } catch (TimeoutException e) {
+      logger.info("Document generation did not finish within {} milliseconds", millis);
+    } catch (ExecutionException e) {
+      logger.debug("Document generation failed", e.getCause());
+    }
   }
 
   @Override
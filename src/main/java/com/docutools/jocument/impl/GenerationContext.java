@@ -0,0 +1,254 @@
+package com.docutools.jocument.impl;
+
+import com.docutools.jocument.GenerationCancelledException;
+import com.docutools.jocument.GenerationEvent;
+import com.docutools.jocument.GenerationListener;
+import com.docutools.jocument.GenerationOptions;
+import com.docutools.jocument.GenerationPhase;
+import com.docutools.jocument.MimeType;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The state of a single document generation shared by all threads working on the document.
+ * The context of the current thread is checked at cancellation checkpoints in the generators, which stop the generation by
+ * throwing a {@link GenerationCancelledException} once the generation has been cancelled or its deadline has passed.
+ * Threads working on behalf of a generation have to be started through {@link #propagate(Runnable)}.
+ *
+ * <p>The context also reports the timings of the generation phases to the {@link GenerationListener}s of the generation.
+ * Timers are only started if there are listeners, see {@link #startTimer()}.</p>
+ */
+public final class GenerationContext {
+  /**
+   * Returned by {@link #startTimer()} if no timing is needed.
+   */
+  public static final long NOT_TIMED = Long.MIN_VALUE;
+  private static final Logger logger = LogManager.getLogger();
+  private static final ThreadLocal<GenerationContext> CURRENT = new ThreadLocal<>();
+  /**
+   * The depth of nested placeholder resolutions on the current thread, only the outermost one is timed.
+   */
+  private static final ThreadLocal<int[]> RESOLUTION_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+  private final Optional<Duration> timeout;
+  private final List<GenerationListener> listeners;
+  private final String template;
+  private final MimeType mimeType;
+  private final LongAdder resolutions = new LongAdder();
+  private final LongAdder resolutionNanos = new LongAdder();
+  private volatile boolean started = false;
+  private volatile long deadline;
+  private volatile boolean cancelled = false;
+
+  /**
+   * Creates a new context, the timeout starts running when the context is entered by the generating thread.
+   *
+   * @param options  the options of the generation
+   * @param template the name of the template
+   * @param mimeType the {@link MimeType} of the document
+   */
+  public GenerationContext(GenerationOptions options, String template, MimeType mimeType) {
+    this.timeout = options.timeout();
+    this.listeners = options.listeners();
+    this.template = template;
+    this.mimeType = mimeType;
+  }
+
+  /**
+   * Get the context of the generation the current thread works on.
+   *
+   * @return the context, empty if the thread does not work on a generation
+   */
+  public static Optional<GenerationContext> current() {
+    return Optional.ofNullable(CURRENT.get());
+  }
+
+  /**
+   * Stop the generation the current thread works on if it has been cancelled or its deadline has passed.
+   *
+   * @throws GenerationCancelledException if the generation has to stop
+   */
+  public static void checkpoint() {
+    var context = CURRENT.get();
+    if (context != null) {
+      context.check();
+    }
+  }
+
+  /**
+   * Wrap the task, so it runs in the context of the generation the current thread works on.
+   *
+   * @param task the task
+   * @return the wrapped task
+   */
+  public static Runnable propagate(Runnable task) {
+    var context = CURRENT.get();
+    return () -> {
+      var previous = CURRENT.get();
+      CURRENT.set(context);
+      try {
+        task.run();
+      } finally {
+        CURRENT.set(previous);
+      }
+    };
+  }
+
+  /**
+   * Wrap the task, so it runs in the context of the generation the current thread works on.
+   *
+   * @param task the task
+   * @param <T>  the result type of the task
+   * @return the wrapped task
+   */
+  public static <T> Supplier<T> propagate(Supplier<T> task) {
+    var context = CURRENT.get();
+    return () -> {
+      var previous = CURRENT.get();
+      CURRENT.set(context);
+      try {
+        return task.get();
+      } finally {
+        CURRENT.set(previous);
+      }
+    };
+  }
+
+  /**
+   * Make this the context of the current thread and start the timeout.
+   *
+   * @return the previous context of the thread, to be restored by {@link #leave(GenerationContext)}
+   */
+  GenerationContext enter() {
+    if (!started) {
+      deadline = System.nanoTime() + timeout.map(Duration::toNanos).orElse(0L);
+      started = true;
+    }
+    var previous = CURRENT.get();
+    CURRENT.set(this);
+    return previous;
+  }
+
+  static void leave(GenerationContext previous) {
+    CURRENT.set(previous);
+  }
+
+  /**
+   * Get the name of the template the current thread generates a document from, e.g. for recording events.
+   *
+   * @return the template name, {@code null} if the thread does not work on a generation
+   */
+  public static String currentTemplate() {
+    var context = CURRENT.get();
+    return context != null ? context.template : null;
+  }
+
+  /**
+   * Start timing a phase of the generation the current thread works on.
+   *
+   * @return the start time to pass to {@link #record(GenerationPhase, long, long, String)}, {@link #NOT_TIMED} if the
+   *     generation has no listeners
+   */
+  public static long startTimer() {
+    var context = CURRENT.get();
+    return context != null && !context.listeners.isEmpty() ? System.nanoTime() : NOT_TIMED;
+  }
+
+  /**
+   * Report a phase of the generation the current thread works on to its listeners.
+   *
+   * @param phase the {@link GenerationPhase}
+   * @param start the start time returned by {@link #startTimer()}
+   * @param count the number of processed items
+   * @param name  the name of the processed element, may be {@code null}
+   */
+  public static void record(GenerationPhase phase, long start, long count, String name) {
+    var context = CURRENT.get();
+    if (start != NOT_TIMED && context != null) {
+      context.emit(phase, System.nanoTime() - start, count, name);
+    }
+  }
+
+  /**
+   * Start timing a placeholder resolution, nested resolutions are not timed.
+   *
+   * @return the start time to pass to {@link #endResolution(long)}
+   */
+  public static long startResolution() {
+    var depth = RESOLUTION_DEPTH.get();
+    return depth[0]++ == 0 ? startTimer() : NOT_TIMED;
+  }
+
+  /**
+   * End timing a placeholder resolution started by {@link #startResolution()}.
+   *
+   * @param start the start time returned by {@link #startResolution()}
+   */
+  public static void endResolution(long start) {
+    RESOLUTION_DEPTH.get()[0]--;
+    var context = CURRENT.get();
+    if (start != NOT_TIMED && context != null) {
+      context.resolutions.increment();
+      context.resolutionNanos.add(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Report the aggregated placeholder resolutions of the generation to the listeners.
+   */
+  void emitResolutions() {
+    if (!listeners.isEmpty()) {
+      emit(GenerationPhase.PLACEHOLDER_RESOLUTION, resolutionNanos.sum(), resolutions.sum(), null);
+    }
+  }
+
+  private void emit(GenerationPhase phase, long durationNanos, long count, String name) {
+    var event = new GenerationEvent(phase, template, mimeType, durationNanos, count, Optional.ofNullable(name));
+    for (GenerationListener listener : listeners) {
+      try {
+        listener.onEvent(event);
+      } catch (RuntimeException e) {
+        logger.warn("Generation listener {} failed", listener, e);
+      }
+    }
+  }
+
+  public void cancel() {
+    cancelled = true;
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Get the time left until the deadline of the generation, e.g. to bound waiting for resources outside the template.
+   *
+   * @return the remaining time, negative once the deadline has passed, empty if the generation has no timeout
+   */
+  public Optional<Duration> remaining() {
+    if (!started || timeout.isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(Duration.ofNanos(deadline - System.nanoTime()));
+  }
+
+  /**
+   * Stop the generation if it has been cancelled or its deadline has passed.
+   *
+   * @throws GenerationCancelledException if the generation has to stop
+   */
+  public void check() {
+    if (cancelled) {
+      throw new GenerationCancelledException("Generation has been cancelled");
+    }
+    if (started && timeout.isPresent() && System.nanoTime() - deadline > 0) {
+      throw new GenerationCancelledException("Generation exceeded its timeout of %s".formatted(timeout.orElseThrow()));
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package com.docutools.jocument.impl;
+
+import com.docutools.jocument.GenerationExecutors;
+import com.docutools.jocument.GenerationOptions;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Runs the concurrent parts of a single generation, e.g. the sheets of a workbook or the items of a loop.
+ *
+ * <p>The tasks run on the executor of the {@link GenerationOptions} if one is configured. Otherwise a pool of daemon
+ * threads is created when the first task is submitted and shut down when the generation is closed, so generations which
+ * do not need it do not pay for it.</p>
+ *
+ * <p>A thread waiting for a task by {@link Task#join()} runs it itself if no thread of the executor has started it yet.
+ * So a bounded executor shared by many generations, even the one running the generations, can not dead-lock on tasks
+ * waiting for other tasks.</p>
+ *
+ * @since 2026-10-19
+ */
+public final class GenerationExecutor implements AutoCloseable {
+  private static final Logger logger = LogManager.getLogger();
+
+  private final Optional<Executor> sharedExecutor;
+  private final int threads;
+  private ExecutorService pool;
+
+  private GenerationExecutor(Optional<Executor> sharedExecutor, int threads) {
+    this.sharedExecutor = sharedExecutor;
+    this.threads = threads;
+  }
+
+  /**
+   * Creates the executor for a generation.
+   *
+   * @param options the options of the generation
+   * @param threads the size of the pool created if the options do not configure an executor
+   * @return the executor, has to be closed when the generation finishes
+   */
+  public static GenerationExecutor of(GenerationOptions options, int threads) {
+    return new GenerationExecutor(options.executor(), threads);
+  }
+
+  /**
+   * Start a task in the context of the generation the current thread works on.
+   *
+   * @param task the task
+   * @param <T>  the result type of the task
+   * @return the submitted task
+   */
+  public <T> Task<T> submit(Supplier<T> task) {
+    var submitted = new Task<>(GenerationContext.propagate(task));
+    try {
+      executor().execute(submitted::run);
+    } catch (RejectedExecutionException e) {
+      logger.debug("Executor rejected task, it is run by the thread waiting for it", e);
+    }
+    return submitted;
+  }
+
+  @Override
+  public synchronized void close() {
+    if (pool != null) {
+      pool.shutdownNow();
+    }
+  }
+
+  private synchronized Executor executor() {
+    if (sharedExecutor.isPresent()) {
+      return sharedExecutor.get();
+    }
+    if (pool == null) {
+      pool = GenerationExecutors.platformThreads(threads);
+    }
+    return pool;
+  }
+
+  /**
+   * A task run either by the executor or by the first thread waiting for it.
+   *
+   * @param <T> the result type
+   */
+  public static final class Task<T> {
+    private final Supplier<T> supplier;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+
+    private Task(Supplier<T> supplier) {
+      this.supplier = supplier;
+    }
+
+    /**
+     * Wait for the result, running the task on the current thread if it has not been started yet.
+     *
+     * @return the result
+     * @throws java.util.concurrent.CompletionException   if the task failed, with the failure as cause
+     * @throws java.util.concurrent.CancellationException if the task has been cancelled
+     */
+    public T join() {
+      run();
+      return result.join();
+    }
+
+    /**
+     * Get the future completed with the result of the task, without running it.
+     *
+     * @return the result
+     */
+    public CompletableFuture<T> result() {
+      return result;
+    }
+
+    /**
+     * Cancel the task if it has not been started yet, a running task is completed.
+     */
+    public void cancel() {
+      if (started.compareAndSet(false, true)) {
+        result.cancel(false);
+      }
+    }
+
+    private void run() {
+      if (!started.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        result.complete(supplier.get());
+      } catch (Throwable e) {
+        result.completeExceptionally(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.docutools.jocument.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tika.Tika;
+import org.apache.tika.mime.MediaType;
+
+/**
+ * Decides whether a string value of a data source is the URL of an image.
+ * Values which are no URLs are rejected without any detection, URLs with a well-known image extension are accepted
+ * directly, only the remaining URLs are passed to Tika's name based detection. The decisions are cached per value, so
+ * repeated values, e.g. the same logo URL in every item of a loop, are only checked once.
+ *
+ * <p>The detector is thread-safe and shared by all resolvers.</p>
+ *
+ * @since 2026-10-19
+ */
+final class ImageDetector {
+  private static final Logger logger = LogManager.getLogger();
+  private static final ImageDetector INSTANCE = new ImageDetector();
+  private static final int MAXIMUM_URL_LENGTH = 2048;
+  private static final Set<String> SCHEMES = Set.of("http", "https", "file", "jar");
+  private static final Set<String> IMAGE_EXTENSIONS = Set.of(
+      "png", "jpg", "jpeg", "gif", "bmp", "webp", "tif", "tiff", "svg", "emf", "wmf", "ico", "heic");
+
+  private final Tika tika = new Tika();
+  private final Cache<String, Boolean> decisions = CacheBuilder.newBuilder()
+      .maximumSize(10_000)
+      .build();
+
+  private ImageDetector() {
+  }
+
+  static ImageDetector instance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Check whether the value is the URL of an image.
+   *
+   * @param value the value
+   * @return {@code true} if the value is the URL of an image
+   */
+  boolean isImageUrl(String value) {
+    if (!looksLikeUrl(value)) {
+      return false;
+    }
+    try {
+      return decisions.get(value, () -> detect(value));
+    } catch (ExecutionException e) {
+      logger.warn("Could not detect type of {}", value, e.getCause());
+      return false;
+    }
+  }
+
+  private static boolean looksLikeUrl(String value) {
+    if (value.length() > MAXIMUM_URL_LENGTH) {
+      return false;
+    }
+    int schemeEnd = value.indexOf(':');
+    if (schemeEnd < 1 || !SCHEMES.contains(value.substring(0, schemeEnd).toLowerCase(Locale.ROOT))) {
+      return false;
+    }
+    for (int i = schemeEnd + 1; i < value.length(); i++) {
+      if (Character.isWhitespace(value.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean detect(String url) {
+    String path = stripQueryAndFragment(url);
+    int extensionStart = path.lastIndexOf('.');
+    if (extensionStart > path.lastIndexOf('/')
+        && IMAGE_EXTENSIONS.contains(path.substring(extensionStart + 1).toLowerCase(Locale.ROOT))) {
+      return true;
+    }
+    try {
+      MediaType mediaType = MediaType.parse(tika.detect(path));
+      return mediaType != null && "image".equals(mediaType.getType());
+    } catch (IllegalStateException e) {
+      logger.warn("Encountered illegal state exception", e);
+      return false;
+    }
+  }
+
+  private static String stripQueryAndFragment(String url) {
+    int end = url.length();
+    int query = url.indexOf('?');
+    if (query >= 0) {
+      end = query;
+    }
+    int fragment = url.indexOf('#');
+    if (fragment >= 0 && fragment < end) {
+      end = fragment;
+    }
+    return url.substring(0, end);
+  }
+}
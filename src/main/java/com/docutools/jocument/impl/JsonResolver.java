@@ -2,6 +2,7 @@ package com.docutools.jocument.impl;
 
 import com.docutools.jocument.PlaceholderData;
 import com.docutools.jocument.PlaceholderResolver;
+import com.docutools.jocument.image.ImageFetcher;
 import com.docutools.jocument.impl.word.placeholders.ImagePlaceholderData;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
@@ -14,32 +15,51 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.MalformedURLException;
 import java.net.URL;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
-import java.util.Spliterator;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.StreamSupport;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.poi.util.IOUtils;
-import org.apache.tika.Tika;
-import org.apache.tika.mime.MediaType;
 
 /**
  * Takes a {@link java.lang.String} or {@link java.net.URL} of a JSON and resolves placeholder names.
  *
+ * <p>The JSON is parsed once, nested objects and array items are resolved by child resolvers referencing their subtree
+ * of the parsed {@link JsonElement}. Like the {@link ReflectionResolver}, placeholders which can not be resolved by a
+ * child are resolved by its parent, {@code @} resolves to the parent, {@code this} to the element itself and dotted
+ * placeholder names like {@code officer.name} access nested properties.</p>
+ *
+ * <p>Image URLs are downloaded by an {@link ImageFetcher}, all image URLs of the JSON are passed to it when the resolver is
+ * created, so they are downloaded in parallel before the document is generated. All images of a JSON share one fetch
+ * timeout, counted from the first image placeholder, so a document with many unreachable images does not wait the full
+ * timeout for each of them. Waiting for images never exceeds the timeout of the generation.</p>
+ *
  * @author betorcs
  * @see com.docutools.jocument.PlaceholderResolver
  * @since 2020-02-19
  */
 public class JsonResolver extends PlaceholderResolver {
+  private static final String SELF_REFERENCE = "this";
+  private static final String PARENT_SYMBOL = "@";
   private static final Logger logger = LogManager.getLogger();
-  private final Tika tika = new Tika();
-  private JsonElement jsonElement;
+  private final JsonElement jsonElement;
+  private final PlaceholderResolver parent;
+  /**
+   * The fetcher downloading image URLs, {@code null} to use the {@link ImageFetcher#defaultFetcher()}.
+   */
+  private final ImageFetcher imageFetcher;
+  /**
+   * Until when images are waited for, shared by all resolvers of the JSON and set when the first image is resolved.
+   */
+  private final AtomicReference<Instant> imageDeadline;
 
   /**
    * Creates a JsonResolver using the given JSON string.
@@ -48,8 +68,7 @@ public class JsonResolver extends PlaceholderResolver {
    * @throws JsonParseException if the specified text is not valid JSON
    */
   public JsonResolver(String json) {
-    logger.info("Creating JSON resolver from {}", json);
-    this.jsonElement = JsonParser.parseString(json);
+    this(JsonParser.parseString(json));
   }
 
   /**
@@ -60,89 +79,208 @@ public class JsonResolver extends PlaceholderResolver {
    * @throws JsonParseException if the downloaded text is not valid JSON
    */
   public JsonResolver(URL url) throws IOException {
+    this(parse(url));
+  }
+
+  /**
+   * Creates a JsonResolver resolving placeholders from an already parsed JSON, downloading images with the
+   * {@link ImageFetcher#defaultFetcher()}.
+   *
+   * @param jsonElement the parsed JSON
+   */
+  public JsonResolver(JsonElement jsonElement) {
+    this(jsonElement, null, null);
+    prefetchImages();
+  }
+
+  /**
+   * Creates a JsonResolver downloading images with the given fetcher.
+   *
+   * @param json         JSON string content.
+   * @param imageFetcher the {@link ImageFetcher} to download images with
+   * @throws JsonParseException if the specified text is not valid JSON
+   */
+  public JsonResolver(String json, ImageFetcher imageFetcher) {
+    this(JsonParser.parseString(json), null, imageFetcher);
+    prefetchImages();
+  }
+
+  /**
+   * Creates a JsonResolver for a part of a JSON, resolving placeholders it does not contain in its parent.
+   *
+   * @param jsonElement  the parsed part of the JSON
+   * @param parent       the resolver of the enclosing JSON, may be {@code null}
+   * @param imageFetcher the {@link ImageFetcher} to download images with, {@code null} for the default fetcher
+   */
+  JsonResolver(JsonElement jsonElement, PlaceholderResolver parent, ImageFetcher imageFetcher) {
+    this(jsonElement, parent, imageFetcher, new AtomicReference<>());
+  }
+
+  private JsonResolver(JsonElement jsonElement, PlaceholderResolver parent, ImageFetcher imageFetcher,
+                       AtomicReference<Instant> imageDeadline) {
+    this.jsonElement = jsonElement;
+    this.parent = parent;
+    this.imageFetcher = imageFetcher;
+    this.imageDeadline = imageDeadline;
+  }
+
+  private static JsonElement parse(URL url) throws IOException {
     logger.info("Trying to create JSON resolver from {}", url);
     try (InputStream stream = url.openStream()) {
       JsonReader reader = new JsonReader(new BufferedReader(new InputStreamReader(stream)));
-      this.jsonElement = JsonParser.parseReader(reader);
+      return JsonParser.parseReader(reader);
     }
   }
 
   @Override
   protected Optional<PlaceholderData> doResolve(String placeholderName, Locale locale) {
     logger.debug("Trying to resolve placeholder {}", placeholderName);
-    if (jsonElement.isJsonObject()) {
-      return fromObject(placeholderName, jsonElement.getAsJsonObject());
-    } else if (jsonElement.isJsonArray()) {
+    if (jsonElement.isJsonArray()) {
       return fromArray(jsonElement.getAsJsonArray());
     }
-    logger.debug("Did not manage to resolver placeholder {}", placeholderName);
-    return Optional.empty();
+    return resolveChain(placeholderName, locale)
+        .or(() -> tryResolveInParent(placeholderName, locale));
+  }
+
+  /**
+   * Resolve the placeholder in this part of the JSON only, without falling back to the parent.
+   *
+   * @param placeholderName the name of the placeholder
+   * @param locale          the localisation settings
+   * @return the unformatted {@link PlaceholderData}, if this part of the JSON contains it
+   */
+  Optional<PlaceholderData> resolveOwn(String placeholderName, Locale locale) {
+    return resolveChain(placeholderName, locale);
   }
 
   @Override
   public String toString() {
-    return jsonElement.getAsString();
+    if (jsonElement.isJsonPrimitive()) {
+      return jsonElement.getAsString();
+    }
+    // do not serialize the subtree, resolvers are logged and the JSON might be large
+    return "JsonResolver{%s}".formatted(jsonElement.isJsonObject() ? "object" : jsonElement.isJsonArray() ? "array" : "null");
+  }
+
+  private Optional<PlaceholderData> resolveChain(String placeholderName, Locale locale) {
+    Optional<PlaceholderData> result = Optional.empty();
+    for (String property : placeholderName.split("\\.")) {
+      if (result.isEmpty()) {
+        result = resolveProperty(property);
+      } else if (result.get() instanceof IterablePlaceholderData iterablePlaceholderData) {
+        result = iterablePlaceholderData.stream().findFirst()
+            .flatMap(childResolver -> childResolver.resolve(property, locale));
+      } else {
+        return Optional.empty(); // property access only possible on IterablePlaceholderData
+      }
+      if (result.isEmpty()) {
+        break;
+      }
+    }
+    return result;
   }
 
-  private Optional<PlaceholderData> fromObject(String placeholderName, JsonObject jsonObject) {
-    if (!jsonObject.has(placeholderName)) {
-      logger.info("Did not find placeholder {} in JSON Object {}", placeholderName, jsonObject);
+  private Optional<PlaceholderData> resolveProperty(String property) {
+    if (PARENT_SYMBOL.equals(property)) {
+      return Optional.ofNullable(parent).map(IterablePlaceholderData::of);
+    }
+    if (SELF_REFERENCE.equals(property)) {
+      return toPlaceholderData(property, jsonElement);
+    }
+    if (!jsonElement.isJsonObject()) {
+      return Optional.empty();
+    }
+    JsonObject jsonObject = jsonElement.getAsJsonObject();
+    if (!jsonObject.has(property)) {
+      logger.debug("Did not find placeholder {} in JSON Object", property);
       return Optional.empty();
     }
+    return toPlaceholderData(property, jsonObject.get(property));
+  }
+
+  private Optional<PlaceholderData> tryResolveInParent(String placeholderName, Locale locale) {
+    return Optional.ofNullable(parent).flatMap(parentResolver -> parentResolver.resolve(placeholderName, locale));
+  }
 
-    JsonElement element = jsonObject.get(placeholderName);
+  private Optional<PlaceholderData> toPlaceholderData(String placeholderName, JsonElement element) {
     if (element.isJsonPrimitive()) {
       return fromPrimitive(element.getAsJsonPrimitive());
     } else if (element.isJsonArray()) {
       return fromArray(element.getAsJsonArray());
     } else if (element.isJsonObject()) {
-      String json = element.toString();
-      return Optional.of(new IterablePlaceholderData(List.of(new JsonResolver(json)), 1));
+      return Optional.of(new IterablePlaceholderData(child(element)));
     }
-
-    logger.warn("Failed to resolve placeholder {} as JSON Object {} to placeholder data", placeholderName, jsonObject);
+    logger.debug("Placeholder {} is null in JSON", placeholderName);
     return Optional.empty();
   }
 
+  private PlaceholderResolver child(JsonElement element) {
+    var child = new JsonResolver(element, this, imageFetcher, imageDeadline);
+    child.setOptions(options);
+    return child;
+  }
+
   private Optional<PlaceholderData> fromPrimitive(JsonPrimitive primitive) {
     String data = primitive.getAsString();
-    if (isImage(data)) {
+    if (ImageDetector.instance().isImageUrl(data)) {
       return fromUrlContent(data)
           .map(ImagePlaceholderData::new);
     }
     return Optional.of(new ScalarPlaceholderData<>(data));
   }
 
-  private boolean isImage(String data) {
+  private Optional<Path> fromUrlContent(String url) {
     try {
-      String detected = tika.detect(data);
-      MediaType mediaType = MediaType.parse(detected);
-      return mediaType != null && "image".equals(mediaType.getType());
-    } catch (IllegalStateException e) {
-      logger.warn("Encountered illegal state exception", e);
-      return false;
+      return imageFetcher().get(new URL(url), imageWait());
+    } catch (MalformedURLException e) {
+      logger.warn("Encountered malformed image URL {}", url, e);
+      return Optional.empty();
     }
+  }
 
+  private ImageFetcher imageFetcher() {
+    return imageFetcher != null ? imageFetcher : ImageFetcher.defaultFetcher();
   }
 
-  private Optional<Path> fromUrlContent(String url) {
-    try (InputStream stream = new URL(url).openStream()) {
-      Path tmp = Files.createTempFile("jocument-", ".dat");
-      IOUtils.copy(stream, tmp.toFile());
-      return Optional.of(tmp);
-    } catch (IOException e) {
-      logger.warn("Encountered IOException when trying to resolve URL %s".formatted(url), e);
-      return Optional.empty();
+  private Duration imageWait() {
+    Instant deadline = imageDeadline.updateAndGet(current -> current != null ? current : Instant.now().plus(imageFetcher().fetchTimeout()));
+    Duration wait = Duration.between(Instant.now(), deadline);
+    Duration remaining = GenerationContext.current()
+        .flatMap(GenerationContext::remaining)
+        .filter(generationRemaining -> generationRemaining.compareTo(wait) < 0)
+        .orElse(wait);
+    return remaining.isNegative() ? Duration.ZERO : remaining; // finished downloads are still returned
+  }
+
+  private void prefetchImages() {
+    List<URL> urls = new ArrayList<>();
+    collectImageUrls(jsonElement, urls);
+    if (!urls.isEmpty()) { // do not start the default fetcher for JSON without images
+      imageFetcher().prefetch(urls);
+    }
+  }
+
+  private static void collectImageUrls(JsonElement element, List<URL> urls) {
+    if (element.isJsonObject()) {
+      element.getAsJsonObject().entrySet().forEach(entry -> collectImageUrls(entry.getValue(), urls));
+    } else if (element.isJsonArray()) {
+      element.getAsJsonArray().forEach(item -> collectImageUrls(item, urls));
+    } else if (element.isJsonPrimitive() && element.getAsJsonPrimitive().isString()
+        && ImageDetector.instance().isImageUrl(element.getAsString())) {
+      try {
+        urls.add(new URL(element.getAsString()));
+      } catch (MalformedURLException e) {
+        logger.debug("Not prefetching malformed image URL {}", element.getAsString());
+      }
     }
   }
 
   private Optional<PlaceholderData> fromArray(JsonArray jsonArray) {
-    Spliterator<JsonElement> spliterator = jsonArray.spliterator();
-    List<PlaceholderResolver> list = StreamSupport.stream(spliterator, false)
-        .map(JsonElement::toString)
-        .map(JsonResolver::new)
-        .collect(Collectors.toList());
-    return Optional.of(new IterablePlaceholderData(list, list.size()));
+    // the item resolvers are created while iterating, they only reference their subtree
+    Iterable<PlaceholderResolver> items = () -> StreamSupport.stream(jsonArray.spliterator(), false)
+        .map(this::child)
+        .iterator();
+    return Optional.of(new IterablePlaceholderData(items, jsonArray.size()));
   }
 
 }
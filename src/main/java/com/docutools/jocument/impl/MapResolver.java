@@ -0,0 +1,226 @@
+package com.docutools.jocument.impl;
+
+import com.docutools.jocument.PlaceholderData;
+import com.docutools.jocument.PlaceholderResolver;
+import com.docutools.jocument.image.ImageReference;
+import com.docutools.jocument.impl.word.placeholders.ImagePlaceholderData;
+import java.lang.reflect.Array;
+import java.nio.file.Path;
+import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.time.temporal.Temporal;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Resolves placeholders from a tree of {@link Map}s, e.g. data deserialized or assembled at runtime, without the bean
+ * introspection of the {@link ReflectionResolver}.
+ *
+ * <p>Placeholder names are looked up directly in the map. Nested maps are resolved by child resolvers, collections and
+ * arrays by one child resolver per item, created while the loop is unrolled. Like the
+ * {@link ReflectionResolver}, placeholders which can not be resolved by a child are resolved by its parent, {@code @}
+ * resolves to the parent, {@code this} to the value itself, dotted placeholder names like {@code officer.name} access
+ * nested maps and placeholder names ending with {@code ?} are conditions.</p>
+ *
+ * <p>Scalar values keep their type, so they are formatted by the formatting options of the
+ * {@link com.docutools.jocument.GenerationOptions}. Numbers and dates without a formatting option are formatted according
+ * to the locale. {@link Path}s, byte arrays and {@link ImageReference}s are inserted as images.</p>
+ *
+ * @since 2026-10-19
+ */
+public class MapResolver extends PlaceholderResolver {
+  private static final String SELF_REFERENCE = "this";
+  private static final String PARENT_SYMBOL = "@";
+  private static final Logger logger = LogManager.getLogger();
+
+  /**
+   * The resolved value, a {@link Map} for all but scalar loop items.
+   */
+  private final Object value;
+  private final PlaceholderResolver parent;
+
+  /**
+   * Creates a resolver for the given map.
+   *
+   * @param map the values by placeholder name, nested maps and collections of maps are resolved as well
+   */
+  public MapResolver(Map<String, ?> map) {
+    this(map, null);
+  }
+
+  /**
+   * Creates a resolver for a part of the map tree, resolving placeholders it does not contain in its parent.
+   *
+   * @param value  the map or loop item
+   * @param parent the resolver of the enclosing map, may be {@code null}
+   */
+  MapResolver(Object value, PlaceholderResolver parent) {
+    this.value = value;
+    this.parent = parent;
+  }
+
+  @Override
+  protected Optional<PlaceholderData> doResolve(String placeholderName, Locale locale) {
+    if (placeholderName.endsWith("?")) {
+      var condition = resolveName(placeholderName.substring(0, placeholderName.length() - 1), locale);
+      if (condition.isPresent() && condition.get().isTruthy()) {
+        return Optional.of(new IterablePlaceholderData(this));
+      }
+      return Optional.of(new IterablePlaceholderData());
+    }
+    return resolveName(placeholderName, locale);
+  }
+
+  @Override
+  public String toString() {
+    if (value instanceof Map<?, ?>) {
+      // do not print the map, resolvers are logged and the data might be large
+      return "MapResolver{map}";
+    }
+    return String.valueOf(value);
+  }
+
+  private Optional<PlaceholderData> resolveName(String placeholderName, Locale locale) {
+    int dot = placeholderName.indexOf('.');
+    var result = dot < 0
+        ? resolveProperty(placeholderName, locale)
+        : resolveChain(placeholderName, dot, locale);
+    return result.isPresent() ? result : resolveInParent(placeholderName, locale);
+  }
+
+  private Optional<PlaceholderData> resolveChain(String placeholderName, int dot, Locale locale) {
+    var result = resolveProperty(placeholderName.substring(0, dot), locale);
+    int start = dot + 1;
+    while (result.isPresent() && start <= placeholderName.length()) {
+      int end = placeholderName.indexOf('.', start);
+      String property = placeholderName.substring(start, end < 0 ? placeholderName.length() : end);
+      if (!(result.get() instanceof IterablePlaceholderData iterablePlaceholderData)) {
+        return Optional.empty(); // property access only possible on IterablePlaceholderData
+      }
+      result = iterablePlaceholderData.stream().findFirst()
+          .flatMap(childResolver -> childResolver.resolve(property, locale));
+      if (end < 0) {
+        break;
+      }
+      start = end + 1;
+    }
+    return result;
+  }
+
+  private Optional<PlaceholderData> resolveProperty(String property, Locale locale) {
+    if (PARENT_SYMBOL.equals(property)) {
+      return Optional.ofNullable(parent).map(IterablePlaceholderData::of);
+    }
+    if (SELF_REFERENCE.equals(property)) {
+      return toPlaceholderData(value, locale);
+    }
+    if (!(value instanceof Map<?, ?> map)) {
+      return Optional.empty();
+    }
+    var entry = map.get(property);
+    if (entry == null) {
+      logger.debug("Did not find placeholder {} in map", property);
+      return Optional.empty();
+    }
+    return toPlaceholderData(entry, locale);
+  }
+
+  private Optional<PlaceholderData> resolveInParent(String placeholderName, Locale locale) {
+    return parent != null ? parent.resolve(placeholderName, locale) : Optional.empty();
+  }
+
+  private Optional<PlaceholderData> toPlaceholderData(Object property, Locale locale) {
+    if (property instanceof Optional<?> optional) {
+      return optional.flatMap(present -> toPlaceholderData(present, locale));
+    } else if (property instanceof PlaceholderData placeholderData) {
+      return Optional.of(placeholderData);
+    } else if (property instanceof Map<?, ?>) {
+      return Optional.of(new IterablePlaceholderData(child(property)));
+    } else if (property instanceof Collection<?> collection) {
+      return Optional.of(new IterablePlaceholderData(() -> items(collection.iterator()), collection.size()));
+    } else if (property instanceof byte[] image) {
+      return Optional.of(new ImagePlaceholderData(image));
+    } else if (property.getClass().isArray()) {
+      int length = Array.getLength(property);
+      return Optional.of(new IterablePlaceholderData(() -> items(new ArrayIterator(property, length)), length));
+    } else if (property instanceof Number number) {
+      return Optional.of(new ScalarPlaceholderData<>(number, n -> NumberFormat.getInstance(locale).format(n)));
+    } else if (property instanceof Temporal temporal) {
+      return Optional.of(formatTemporal(temporal, locale));
+    } else if (property instanceof Path path) {
+      return Optional.of(new ImagePlaceholderData(path));
+    } else if (property instanceof ImageReference imageReference) {
+      return Optional.of(new ImagePlaceholderData(imageReference));
+    }
+    return Optional.of(new ScalarPlaceholderData<>(property));
+  }
+
+  private PlaceholderResolver child(Object item) {
+    var child = new MapResolver(item, this);
+    child.setOptions(options);
+    return child;
+  }
+
+  private Iterator<PlaceholderResolver> items(Iterator<?> iterator) {
+    // the item resolvers are created while iterating, they only reference their item
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public PlaceholderResolver next() {
+        return child(iterator.next());
+      }
+    };
+  }
+
+  private static PlaceholderData formatTemporal(Temporal temporal, Locale locale) {
+    DateTimeFormatter formatter;
+    if (temporal instanceof LocalDate) {
+      formatter = DateTimeFormatter.ofLocalizedDate(FormatStyle.SHORT);
+    } else if (temporal instanceof LocalTime) {
+      formatter = DateTimeFormatter.ofLocalizedTime(FormatStyle.SHORT);
+    } else if (temporal instanceof LocalDateTime) {
+      formatter = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT);
+    } else {
+      return new ScalarPlaceholderData<>(temporal);
+    }
+    return new ScalarPlaceholderData<>(temporal, formatter.withLocale(locale)::format);
+  }
+
+  private static final class ArrayIterator implements Iterator<Object> {
+    private final Object array;
+    private final int length;
+    private int index = 0;
+
+    private ArrayIterator(Object array, int length) {
+      this.array = array;
+      this.length = length;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return index < length;
+    }
+
+    @Override
+    public Object next() {
+      if (index >= length) {
+        throw new NoSuchElementException();
+      }
+      return Array.get(array, index++);
+    }
+  }
+}
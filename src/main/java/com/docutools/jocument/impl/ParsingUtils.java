@@ -1,6 +1,9 @@
 package com.docutools.jocument.impl;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.logging.log4j.LogManager;
@@ -37,6 +40,49 @@ public class ParsingUtils {
     return List.of("{{/%s}}".formatted(placeholder).toLowerCase(), "{{end-%s}}".formatted(placeholder).toLowerCase());
   }
 
+  /**
+   * Index the loop end markers in the texts of a scope, e.g. its paragraphs or rows, so the end of every loop can be
+   * found without scanning the rest of the scope.
+   *
+   * @param texts the texts of the scope, {@code null} for elements which can not end a loop
+   * @return the positions of the markers in ascending order by marker
+   */
+  public static Map<String, List<Integer>> indexLoopEnds(List<String> texts) {
+    Map<String, List<Integer>> loopEnds = new HashMap<>();
+    for (int i = 0; i < texts.size(); i++) {
+      var text = texts.get(i);
+      if (text == null) {
+        continue;
+      }
+      var marker = text.strip().toLowerCase();
+      if (marker.startsWith("{{/") || marker.startsWith("{{end-")) {
+        loopEnds.computeIfAbsent(marker, key -> new ArrayList<>()).add(i);
+      }
+    }
+    return loopEnds;
+  }
+
+  /**
+   * Find the end of the loop started by a placeholder in a scope indexed by {@link #indexLoopEnds(List)}.
+   *
+   * @param loopEnds    the indexed loop end markers
+   * @param placeholder the placeholder starting the loop
+   * @param from        the position after the start of the loop
+   * @return the position of the first matching loop end marker, {@code -1} if there is none
+   */
+  public static int findLoopEnd(Map<String, List<Integer>> loopEnds, String placeholder, int from) {
+    int loopEnd = -1;
+    for (String marker : getMatchingLoopEnds(placeholder)) {
+      for (int position : loopEnds.getOrDefault(marker, List.of())) {
+        if (position >= from) {
+          loopEnd = loopEnd < 0 ? position : Math.min(loopEnd, position);
+          break;
+        }
+      }
+    }
+    return loopEnd;
+  }
+
   public static Matcher matchPlaceholders(String value) {
     return PLACEHOLDER_PATTERN.matcher(value);
   }
@@ -0,0 +1,93 @@
+package com.docutools.jocument.impl;
+
+import com.docutools.jocument.PlaceholderData;
+import com.docutools.jocument.PlaceholderResolver;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Serves the placeholders of one scope, e.g. the whole document or the body of a loop for one item, from a single
+ * {@link PlaceholderResolver#resolveAll(Set, Locale)} call of the underlying resolver. Placeholders missing from the
+ * result of the batch or requested with another locale are resolved by the underlying resolver.
+ *
+ * <p>Only resolvers overriding {@link PlaceholderResolver#resolveAll(Set, Locale)} are prefetched. The default
+ * implementation resolves one by one anyway, prefetching would only resolve placeholders the generation might never
+ * fill, e.g. the ones of a conditionally removed part.</p>
+ *
+ * @since 2026-10-19
+ */
+public final class PrefetchedResolver extends PlaceholderResolver {
+  private static final Logger logger = LogManager.getLogger();
+  private static final ClassValue<Boolean> RESOLVES_BATCHES = new ClassValue<>() {
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      try {
+        return type.getMethod("resolveAll", Set.class, Locale.class).getDeclaringClass() != PlaceholderResolver.class;
+      } catch (NoSuchMethodException e) {
+        return false;
+      }
+    }
+  };
+
+  private final PlaceholderResolver resolver;
+  private final Locale locale;
+  private final Map<String, PlaceholderData> resolved;
+
+  private PrefetchedResolver(PlaceholderResolver resolver, Locale locale, Map<String, PlaceholderData> resolved) {
+    this.resolver = resolver;
+    this.locale = locale;
+    this.resolved = resolved;
+  }
+
+  /**
+   * Resolve the placeholders of a scope in one batch.
+   *
+   * @param resolver         the resolver of the scope
+   * @param placeholderNames collects the names of the placeholders in the scope, only called if the resolver resolves
+   *                         batches, so it can be shared by all scopes of the same template part, e.g. memoized per loop
+   * @param locale           the locale the scope is filled with
+   * @return a resolver serving the batch, the given resolver if it does not resolve batches or there is nothing to resolve
+   */
+  public static PlaceholderResolver prefetch(PlaceholderResolver resolver, Supplier<Set<String>> placeholderNames,
+                                             Locale locale) {
+    var batchResolver = resolver instanceof PrefetchedResolver prefetchedResolver ? prefetchedResolver.resolver : resolver;
+    if (!RESOLVES_BATCHES.get(batchResolver.getClass())) {
+      return resolver;
+    }
+    var names = placeholderNames.get();
+    if (names.isEmpty()) {
+      return resolver;
+    }
+    logger.debug("Resolving {} placeholders of {} in one batch", names.size(), batchResolver);
+    var resolved = batchResolver.resolveAll(names, locale);
+    return new PrefetchedResolver(batchResolver, locale, resolved);
+  }
+
+  @Override
+  public Optional<PlaceholderData> resolve(String placeholderName, Locale locale) {
+    if (this.locale.equals(locale) && resolved.containsKey(placeholderName)) {
+      return Optional.ofNullable(resolved.get(placeholderName)); // a null value marks a name known to be unresolvable
+    }
+    return resolver.resolve(placeholderName, locale);
+  }
+
+  @Override
+  protected Optional<PlaceholderData> doResolve(String placeholderName, Locale locale) {
+    return resolve(placeholderName, locale);
+  }
+
+  @Override
+  public Map<String, PlaceholderData> resolveAll(Set<String> placeholderNames, Locale locale) {
+    return resolver.resolveAll(placeholderNames, locale);
+  }
+
+  @Override
+  public String toString() {
+    return resolver.toString();
+  }
+}
@@ -14,6 +14,8 @@ import com.docutools.jocument.annotations.Money;
 import com.docutools.jocument.annotations.Numeric;
 import com.docutools.jocument.annotations.Percentage;
 import com.docutools.jocument.annotations.Translatable;
+import com.docutools.jocument.image.ImageReference;
+import com.docutools.jocument.image.ImageStreamSupplier;
 import com.docutools.jocument.impl.excel.util.PlaceholderDataFactory;
 import com.docutools.jocument.impl.models.MatchPlaceholderData;
 import com.docutools.jocument.impl.word.placeholders.ImagePlaceholderData;
@@ -22,6 +24,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.RecordComponent;
 import java.math.RoundingMode;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.text.NumberFormat;
 import java.time.LocalDate;
@@ -472,12 +475,24 @@ public class ReflectionResolver extends PlaceholderResolver {
     } else if (isFieldAnnotatedWith(bean.getClass(), placeholderName, Translatable.class)) {
       return getObjectTranslation(placeholderName, locale, options);
     } else if (isFieldAnnotatedWith(bean.getClass(), placeholderName, Image.class)) {
-      Path path;
-      if(property instanceof Path pathVar) path = pathVar;
-      else if(property instanceof String pathString) path = Path.of(pathString);
-      else return Optional.empty();
+      ImagePlaceholderData imageData;
+      if (property instanceof Path path) {
+        imageData = new ImagePlaceholderData(path);
+      } else if (property instanceof String pathString) {
+        imageData = new ImagePlaceholderData(Path.of(pathString));
+      } else if (property instanceof byte[] data) {
+        imageData = new ImagePlaceholderData(data);
+      } else if (property instanceof ByteBuffer buffer) {
+        imageData = new ImagePlaceholderData(buffer);
+      } else if (property instanceof ImageStreamSupplier supplier) {
+        imageData = new ImagePlaceholderData(supplier);
+      } else if (property instanceof ImageReference reference) {
+        imageData = new ImagePlaceholderData(reference);
+      } else {
+        return Optional.empty();
+      }
       return ReflectionUtils.findFieldAnnotation(bean.getClass(), placeholderName, Image.class)
-          .map(image -> new ImagePlaceholderData(path)
+          .map(image -> imageData
               .withMaxWidth(image.maxWidth())
               .withMaxHeight(image.maxHeight())
               .withFileDeletionAfterInsertion(image.deleteAfterInsertion()));
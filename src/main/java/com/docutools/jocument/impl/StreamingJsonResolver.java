@@ -0,0 +1,250 @@
+package com.docutools.jocument.impl;
+
+import com.docutools.jocument.PlaceholderData;
+import com.docutools.jocument.PlaceholderResolver;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Resolves placeholders from a JSON object without holding the whole JSON in memory.
+ *
+ * <p>When the resolver is created, the JSON is read once: the fields of the top-level object which are not arrays are
+ * kept, the arrays are only counted. When a loop iterates over a top-level array, the JSON is read again and the array
+ * items are parsed one at a time, so the memory needed for a loop is bounded by a single item. Each item is resolved by a
+ * {@link JsonResolver} with this resolver as parent.</p>
+ *
+ * <p>Since every iteration of an array reads the JSON again up to the array, the source has to be available and
+ * unchanged while documents are generated. Iterations which are not run to the end keep their reader open until it is
+ * garbage collected.</p>
+ *
+ * @since 2026-10-19
+ */
+public class StreamingJsonResolver extends PlaceholderResolver {
+  private static final Logger logger = LogManager.getLogger();
+
+  private final JsonSource source;
+  private final String description;
+  private final JsonResolver fields;
+  /**
+   * The top-level arrays and their sizes.
+   */
+  private final Map<String, Long> arrays;
+
+  /**
+   * Creates a streaming resolver reading the JSON file.
+   *
+   * @param path the JSON file
+   * @throws IOException        if the file could not be read
+   * @throws JsonParseException if the file is not a valid JSON object
+   */
+  public StreamingJsonResolver(Path path) throws IOException {
+    this(pathSource(path), path.toString(), index(pathSource(path), path.toString()));
+  }
+
+  /**
+   * Creates a streaming resolver reading the JSON from the URL, which is requested again for each iterated array.
+   *
+   * @param url the JSON URL
+   * @throws IOException        if the URL could not be read
+   * @throws JsonParseException if the downloaded text is not a valid JSON object
+   */
+  public StreamingJsonResolver(URL url) throws IOException {
+    this(urlSource(url), url.toString(), index(urlSource(url), url.toString()));
+  }
+
+  /**
+   * Creates a streaming resolver reading the JSON string, which avoids building the tree of the whole JSON.
+   *
+   * @param json the JSON string
+   * @throws JsonParseException if the string is not a valid JSON object
+   */
+  public StreamingJsonResolver(String json) {
+    this(stringSource(json), "string", indexString(json));
+  }
+
+  private StreamingJsonResolver(JsonSource source, String description, Index index) {
+    this.source = source;
+    this.description = description;
+    this.arrays = index.arrays();
+    this.fields = new JsonResolver(index.fields(), this, null);
+  }
+
+  private static JsonSource pathSource(Path path) {
+    return () -> Files.newBufferedReader(path, StandardCharsets.UTF_8);
+  }
+
+  private static JsonSource urlSource(URL url) {
+    return () -> new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8));
+  }
+
+  private static JsonSource stringSource(String json) {
+    return () -> new StringReader(json);
+  }
+
+  private static Index indexString(String json) {
+    try {
+      return index(stringSource(json), "string");
+    } catch (IOException e) {
+      throw new UncheckedIOException(e); // not thrown by StringReader
+    }
+  }
+
+  private static Index index(JsonSource source, String description) throws IOException {
+    logger.info("Indexing JSON {}", description);
+    var fields = new JsonObject();
+    Map<String, Long> arrays = new HashMap<>();
+    try (JsonReader reader = new JsonReader(source.open())) {
+      reader.beginObject();
+      while (reader.hasNext()) {
+        String name = reader.nextName();
+        if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+          arrays.put(name, count(reader));
+        } else {
+          fields.add(name, JsonParser.parseReader(reader));
+        }
+      }
+      reader.endObject();
+    } catch (IllegalStateException e) {
+      throw new JsonParseException("JSON %s is not an object".formatted(description), e);
+    }
+    logger.debug("Indexed {} fields and {} arrays of JSON {}", fields.size(), arrays.size(), description);
+    return new Index(fields, Map.copyOf(arrays));
+  }
+
+  private static long count(JsonReader reader) throws IOException {
+    long count = 0;
+    reader.beginArray();
+    while (reader.hasNext()) {
+      reader.skipValue();
+      count++;
+    }
+    reader.endArray();
+    return count;
+  }
+
+  @Override
+  protected Optional<PlaceholderData> doResolve(String placeholderName, Locale locale) {
+    int dot = placeholderName.indexOf('.');
+    String array = dot < 0 ? placeholderName : placeholderName.substring(0, dot);
+    Long count = arrays.get(array);
+    if (count == null) {
+      fields.setOptions(options); // options are set after creation by the template
+      return fields.resolveOwn(placeholderName, locale);
+    }
+    if (dot < 0) {
+      return Optional.of(new IterablePlaceholderData(() -> new ArrayIterator(array), count));
+    }
+    // property access on an array resolves against its first item, like in the other resolvers
+    try (var items = new ArrayIterator(array)) {
+      return items.hasNext() ? items.next().resolve(placeholderName.substring(dot + 1), locale) : Optional.empty();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "StreamingJsonResolver{%s}".formatted(description);
+  }
+
+  @FunctionalInterface
+  private interface JsonSource {
+    Reader open() throws IOException;
+  }
+
+  /**
+   * The top-level fields which are not arrays, and the sizes of the top-level arrays.
+   */
+  private record Index(JsonObject fields, Map<String, Long> arrays) {
+  }
+
+  /**
+   * Reads the items of a top-level array one at a time, closing the reader after the last one.
+   */
+  private final class ArrayIterator implements Iterator<PlaceholderResolver>, AutoCloseable {
+    private final JsonReader reader;
+    private boolean closed = false;
+
+    private ArrayIterator(String name) {
+      try {
+        reader = new JsonReader(source.open());
+        seek(name);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Could not read array %s of JSON %s".formatted(name, description), e);
+      }
+    }
+
+    private void seek(String name) throws IOException {
+      reader.beginObject();
+      while (reader.hasNext()) {
+        if (reader.nextName().equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+          reader.beginArray();
+          return;
+        }
+        reader.skipValue();
+      }
+      close();
+      throw new IllegalStateException("Array %s not found in JSON %s, it changed after indexing".formatted(name, description));
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (closed) {
+        return false;
+      }
+      try {
+        if (reader.hasNext()) {
+          return true;
+        }
+      } catch (IOException e) {
+        close();
+        throw new UncheckedIOException(e);
+      }
+      close();
+      return false;
+    }
+
+    @Override
+    public PlaceholderResolver next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      JsonElement item = JsonParser.parseReader(reader);
+      var resolver = new JsonResolver(item, StreamingJsonResolver.this, null);
+      resolver.setOptions(options);
+      return resolver;
+    }
+
+    @Override
+    public void close() {
+      if (!closed) {
+        closed = true;
+        try {
+          reader.close();
+        } catch (IOException e) {
+          logger.warn("Could not close JSON {}", description, e);
+        }
+      }
+    }
+  }
+}
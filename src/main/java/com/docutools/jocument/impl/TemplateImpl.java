@@ -3,6 +3,7 @@ package com.docutools.jocument.impl;
 import com.docutools.jocument.Document;
 import com.docutools.jocument.GenerationOptions;
 import com.docutools.jocument.MimeType;
+import com.docutools.jocument.OutputTarget;
 import com.docutools.jocument.PlaceholderResolver;
 import com.docutools.jocument.Template;
 import com.docutools.jocument.TemplateSource;
@@ -11,6 +12,8 @@ import com.docutools.jocument.impl.word.WordDocumentImpl;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -45,21 +48,38 @@ public class TemplateImpl implements Template {
   }
 
   @Override
-  public Document startGeneration(PlaceholderResolver resolver, GenerationOptions options) {
+  public Document startGeneration(PlaceholderResolver resolver, GenerationOptions options, OutputTarget target) {
+    var document = createDocument(resolver, options, target);
+    new Thread(document).start();
+    return document;
+  }
+
+  @Override
+  public CompletableFuture<Document> generate(PlaceholderResolver resolver, GenerationOptions options, OutputTarget target,
+                                              Executor executor) {
+    var document = createDocument(resolver, options, target);
+    executor.execute(document);
+    return document.completion();
+  }
+
+  private DocumentImpl createDocument(PlaceholderResolver resolver, GenerationOptions options, OutputTarget target) {
     // Make sure PlaceholderResolver and Template work on the same GenerationOptions.
     resolver.setOptions(options);
 
     logger.info("Starting generating from template {} with resolver {}", this, resolver);
-    var document = switch (mimeType) {
-      case DOCX -> new WordDocumentImpl(this, resolver, options);
-      case XLSX -> new ExcelDocumentImpl(this, resolver, options);
+    return switch (mimeType) {
+      case DOCX -> new WordDocumentImpl(this, resolver, options, target);
+      case XLSX -> new ExcelDocumentImpl(this, resolver, options, target);
     };
-    document.start();
-    return document;
   }
 
   @Override
   public InputStream openStream() throws IOException {
     return source.open();
   }
+
+  @Override
+  public String toString() {
+    return source.toString();
+  }
 }
@@ -1,19 +1,38 @@
 package com.docutools.jocument.impl.excel.implementations;
 
+import com.docutools.jocument.GenerationCancelledException;
 import com.docutools.jocument.GenerationOptions;
+import com.docutools.jocument.GenerationPhase;
+import com.docutools.jocument.OutputTarget;
 import com.docutools.jocument.PlaceholderResolver;
 import com.docutools.jocument.Template;
 import com.docutools.jocument.impl.DocumentImpl;
+import com.docutools.jocument.impl.GenerationContext;
+import com.docutools.jocument.impl.GenerationExecutor;
 import com.docutools.jocument.impl.excel.interfaces.ExcelWriter;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.StreamSupport;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.util.LocaleUtil;
 import org.apache.poi.xssf.usermodel.XSSFFormulaEvaluator;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
@@ -38,33 +57,145 @@ public class ExcelDocumentImpl extends DocumentImpl {
     super(template, resolver, options);
   }
 
+  /**
+   * The constructor for a new ExcelDocument report generator writing to the given target.
+   *
+   * @param template The template to generate the report from
+   * @param resolver The resolver to use for filling placeholders
+   * @param options  The options to use for generating
+   * @param target   The target to write the report to
+   */
+  public ExcelDocumentImpl(Template template, PlaceholderResolver resolver, GenerationOptions options, OutputTarget target) {
+    super(template, resolver, options, target);
+  }
+
   /**
    * Start generation of an Excel report from the template supplied in the constructor, using the also supplied
    * resolver for resolving placeholders.
    *
-   * @return The path to the generated report
+   * @param os The stream to write the report to
    * @throws IOException If reading of the template or writing of the report fails.
    */
   @Override
-  protected Path generate() throws IOException {
+  protected void generate(OutputStream os) throws IOException {
     logger.info("Starting generation");
-    Path file = Files.createTempFile("jocument-", ".xlsx");
+    // the pool of the loop items is only created once a loop is unrolled concurrently
+    Optional<GenerationExecutor> loopExecutor = options.loopParallelism() > 1
+        ? Optional.of(GenerationExecutor.of(options, options.loopParallelism()))
+        : Optional.empty();
+    long start = GenerationContext.startTimer();
     try (XSSFWorkbook workbook = new XSSFWorkbook(template.openStream())) {
-      ExcelWriter excelWriter = new XSSFWriter(workbook);
-      for (Iterator<Sheet> it = workbook.sheetIterator(); it.hasNext(); ) {
-        Sheet sheet = it.next();
-        sanitizeSheet(sheet);
-        excelWriter.newSheet(sheet);
-        logger.info("Starting generation of sheet {}", sheet.getSheetName());
-        ExcelGenerator.apply(resolver, StreamSupport.stream(sheet.spliterator(), false).toList(), excelWriter, options);
+      GenerationContext.record(GenerationPhase.TEMPLATE_PARSE, start, 1, null);
+      List<Sheet> sheets = StreamSupport.stream(workbook.spliterator(), false).toList();
+      if (options.sheetParallelism() > 1 && sheets.size() > 1 && !hasCrossSheetReferences(workbook)) {
+        generateConcurrently(workbook, sheets, loopExecutor);
+      } else {
+        ExcelWriter excelWriter = new XSSFWriter(workbook);
+        for (Sheet sheet : sheets) {
+          generate(sheet, excelWriter, loopExecutor);
+        }
       }
+      start = GenerationContext.startTimer();
       XSSFFormulaEvaluator.evaluateAllFormulaCells(workbook);
-      try (OutputStream os = Files.newOutputStream(file)) {
-        logger.info("Writing document to {}", os);
-        workbook.write(os);
+      GenerationContext.record(GenerationPhase.FORMULA_EVALUATION, start, 1, null);
+      logger.info("Writing document to {}", os);
+      start = GenerationContext.startTimer();
+      workbook.write(os);
+      GenerationContext.record(GenerationPhase.SERIALIZATION, start, 1, null);
+    } finally {
+      loopExecutor.ifPresent(GenerationExecutor::close);
+    }
+  }
+
+  private void generate(Sheet sheet, ExcelWriter excelWriter, Optional<GenerationExecutor> loopExecutor) {
+    sanitizeSheet(sheet);
+    generateSanitized(sheet, excelWriter, loopExecutor);
+  }
+
+  private void generateSanitized(Sheet sheet, ExcelWriter excelWriter, Optional<GenerationExecutor> loopExecutor) {
+    excelWriter.newSheet(sheet);
+    logger.info("Starting generation of sheet {}", sheet.getSheetName());
+    ExcelGenerator.apply(resolver, StreamSupport.stream(sheet.spliterator(), false).toList(), excelWriter, options, loopExecutor);
+  }
+
+  /**
+   * Generate the sheets of the workbook concurrently.
+   * Each sheet gets its own {@link ExcelWriter}, the writers share the mapping of the cell styles and the lock guarding
+   * the structure of the workbook. Each of the workers generates sheets until none are left, so at most
+   * {@link GenerationOptions#sheetParallelism()} sheets are generated at the same time, even on a shared executor.
+   *
+   * @param workbook     The workbook containing the sheets
+   * @param sheets       The sheets to generate
+   * @param loopExecutor The executor to resolve loop items on, shared by all sheets
+   */
+  private void generateConcurrently(XSSFWorkbook workbook, List<Sheet> sheets, Optional<GenerationExecutor> loopExecutor) {
+    int parallelism = Math.min(options.sheetParallelism(), sheets.size());
+    logger.info("Generating {} sheets with {} workers", sheets.size(), parallelism);
+    Map<Integer, CellStyle> cellStyleMap = new ConcurrentHashMap<>();
+    ReadWriteLock structureLock = new ReentrantReadWriteLock();
+    Locale locale = LocaleUtil.getUserLocale();
+    // creating the missing rows is not guarded by a writer, so it is done before the sheets are generated concurrently
+    sheets.forEach(this::sanitizeSheet);
+    Queue<Sheet> remaining = new ConcurrentLinkedQueue<>(sheets);
+    try (var executor = GenerationExecutor.of(options, parallelism)) {
+      List<GenerationExecutor.Task<Void>> workers = new ArrayList<>(parallelism);
+      for (int i = 0; i < parallelism; i++) {
+        workers.add(executor.submit(() -> {
+          Locale previousLocale = LocaleUtil.getUserLocale();
+          LocaleUtil.setUserLocale(locale); // LU is thread-local
+          try {
+            for (Sheet sheet = remaining.poll(); sheet != null; sheet = remaining.poll()) {
+              generateSanitized(sheet, new XSSFWriter(workbook, cellStyleMap, structureLock), loopExecutor);
+            }
+          } finally {
+            LocaleUtil.setUserLocale(previousLocale);
+          }
+          return null;
+        }));
+      }
+      // wait for all workers, even after a failure, so no worker writes to the workbook once it is closed
+      RuntimeException failure = null;
+      for (var worker : workers) {
+        try {
+          worker.join();
+        } catch (CompletionException | CancellationException e) {
+          remaining.clear();
+          if (failure == null) {
+            failure = e.getCause() instanceof GenerationCancelledException cancelledException
+                ? cancelledException
+                : new IllegalStateException("Failed to generate sheet", e.getCause());
+          }
+        }
+      }
+      if (failure != null) {
+        throw failure;
+      }
+    }
+  }
+
+  /**
+   * Check whether the sheets of the workbook reference each other, by defined names or by formulas referencing other
+   * sheets. Shifting rows rewrites these references in all sheets, so such workbooks are generated sequentially.
+   *
+   * @param workbook The workbook to check
+   * @return Whether the workbook contains defined names or formulas referencing a sheet
+   */
+  private static boolean hasCrossSheetReferences(XSSFWorkbook workbook) {
+    if (!workbook.getAllNames().isEmpty()) {
+      logger.info("Workbook contains defined names, generating sheets sequentially");
+      return true;
+    }
+    for (Sheet sheet : workbook) {
+      for (Row row : sheet) {
+        for (Cell cell : row) {
+          if (cell.getCellType() == CellType.FORMULA && cell.getCellFormula().contains("!")) {
+            logger.info("Formula {} of sheet {} references a sheet, generating sheets sequentially", cell.getCellFormula(), sheet.getSheetName());
+            return true;
+          }
+        }
       }
     }
-    return file;
+    return false;
   }
 
   /**
@@ -1,20 +1,37 @@
 package com.docutools.jocument.impl.excel.implementations;
 
 import com.docutools.jocument.GenerationOptions;
+import com.docutools.jocument.GenerationPhase;
 import com.docutools.jocument.PlaceholderData;
 import com.docutools.jocument.PlaceholderResolver;
 import com.docutools.jocument.PlaceholderType;
+import com.docutools.jocument.impl.ColumnarPlaceholderData;
+import com.docutools.jocument.impl.GenerationContext;
+import com.docutools.jocument.impl.GenerationExecutor;
 import com.docutools.jocument.impl.ParsingUtils;
+import com.docutools.jocument.impl.PrefetchedResolver;
 import com.docutools.jocument.impl.ScalarPlaceholderData;
 import com.docutools.jocument.impl.excel.interfaces.ExcelPlaceholderData;
 import com.docutools.jocument.impl.excel.interfaces.ExcelWriter;
 import com.docutools.jocument.impl.excel.util.ExcelUtils;
 import com.docutools.jocument.impl.excel.util.ModificationInformation;
+import com.docutools.jocument.impl.jfr.LoopUnrollEvent;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.Lists;
+import java.text.NumberFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.stream.StreamSupport;
 import org.apache.logging.log4j.LogManager;
@@ -23,7 +40,6 @@ import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.util.LocaleUtil;
-import org.apache.xmlbeans.impl.values.XmlValueDisconnectedException;
 
 
 /**
@@ -36,20 +52,26 @@ import org.apache.xmlbeans.impl.values.XmlValueDisconnectedException;
  */
 public class ExcelGenerator {
   private static final Logger logger = LogManager.getLogger();
+  /**
+   * The number of loop items resolved ahead of the item currently written, per thread resolving items.
+   */
+  private static final int LOOK_AHEAD_PER_THREAD = 4;
 
   private final ExcelWriter excelWriter;
   private final PlaceholderResolver resolver;
   private final List<Row> rows;
   private final int nestedLoopDepth;
   private final GenerationOptions options;
+  private final Optional<GenerationExecutor> loopExecutor;
 
   private ExcelGenerator(List<Row> rows, ExcelWriter excelWriter, PlaceholderResolver resolver, int nestedLoopDepth,
-                         GenerationOptions options) {
+                         GenerationOptions options, Optional<GenerationExecutor> loopExecutor) {
     this.rows = rows;
     this.excelWriter = excelWriter;
     this.resolver = resolver;
     this.nestedLoopDepth = nestedLoopDepth;
     this.options = options;
+    this.loopExecutor = loopExecutor;
   }
 
   /**
@@ -61,28 +83,93 @@ public class ExcelGenerator {
    * @param options     {@link GenerationOptions}
    */
   static void apply(PlaceholderResolver resolver, List<Row> rows, ExcelWriter excelWriter, GenerationOptions options) {
-    apply(resolver, rows, excelWriter, 0, options);
+    apply(resolver, rows, excelWriter, options, Optional.empty());
+  }
+
+  /**
+   * This function starts the generating process for the supplied row iterator, resolving the items of loops on the
+   * supplied executor.
+   *
+   * @param resolver     The resolver to use for looking up placeholders
+   * @param rows         The rows which should be processed
+   * @param excelWriter  The writer to write the report out to.
+   * @param options      {@link GenerationOptions}
+   * @param loopExecutor The executor to resolve loop items on, sequential resolution if empty
+   */
+  static void apply(PlaceholderResolver resolver, List<Row> rows, ExcelWriter excelWriter, GenerationOptions options,
+                    Optional<GenerationExecutor> loopExecutor) {
+    apply(resolver, rows, () -> collectPlaceholderNames(rows), excelWriter, 0, options, loopExecutor);
+  }
+
+  private static void apply(PlaceholderResolver resolver, List<Row> rows, Supplier<Set<String>> placeholderNames,
+                            ExcelWriter excelWriter, int nestedLoopDepth, GenerationOptions options,
+                            Optional<GenerationExecutor> loopExecutor) {
+    var prefetchedResolver = PrefetchedResolver.prefetch(resolver, placeholderNames, LocaleUtil.getUserLocale());
+    new ExcelGenerator(rows, excelWriter, prefetchedResolver, nestedLoopDepth, options, loopExecutor).generate();
+  }
+
+  /**
+   * Collect the names of the placeholders filled in the scope of the rows.
+   * Only the start of a loop is collected, its body is a scope of its own.
+   *
+   * @param rows The rows of the scope
+   * @return The placeholder names in the order of their first occurrence
+   */
+  private static Set<String> collectPlaceholderNames(List<Row> rows) {
+    List<String> texts = rows.stream()
+        .map(ExcelGenerator::getSingleText)
+        .toList();
+    var loopEnds = ParsingUtils.indexLoopEnds(texts);
+    Set<String> placeholderNames = new LinkedHashSet<>();
+    for (int i = 0; i < rows.size(); i++) {
+      if (texts.get(i) != null && ParsingUtils.containsPlaceholder(texts.get(i))) {
+        var placeholder = ParsingUtils.stripBrackets(texts.get(i));
+        int loopEnd = ParsingUtils.findLoopEnd(loopEnds, placeholder, i + 1);
+        if (loopEnd >= 0) {
+          placeholderNames.add(placeholder);
+          i = loopEnd;
+          continue;
+        }
+      }
+      for (Cell cell : rows.get(i)) {
+        if (ExcelUtils.containsPlaceholder(cell)) {
+          ParsingUtils.matchPlaceholders(ExcelUtils.getCellContentAsString(cell)).results()
+              .map(matchResult -> matchResult.group(1))
+              .filter(Objects::nonNull)
+              .forEach(placeholderNames::add);
+        }
+      }
+    }
+    return placeholderNames;
   }
 
-  private static void apply(PlaceholderResolver resolver, List<Row> rows, ExcelWriter excelWriter, int nestedLoopDepth,
-                            GenerationOptions options) {
-    new ExcelGenerator(rows, excelWriter, resolver, nestedLoopDepth, options).generate();
+  /**
+   * Get the text of a row consisting of a single text cell, like the start and end of a loop.
+   *
+   * @param row The row
+   * @return The text of the cell, {@code null} if the row does not consist of a single text cell
+   */
+  private static String getSingleText(Row row) {
+    if (ExcelUtils.getNumberOfNonEmptyCells(row) != 1) {
+      return null;
+    }
+    var cell = row.getCell(row.getFirstCellNum());
+    return cell.getCellType() == CellType.STRING ? cell.getStringCellValue() : null;
   }
 
   private void generate() {
     logger.debug("Starting generation by applying resolver {}", resolver);
     List<Row> toProcess = new LinkedList<>(rows);
     while (!toProcess.isEmpty()) {
+      GenerationContext.checkpoint();
       Row row = toProcess.get(0);
       toProcess = toProcess.subList(1, toProcess.size());
-      try {
-        if (isLoopStart(row)) {
-          toProcess = handleLoop(row, toProcess);
-        } else {
-          handleRow(row);
-        }
-      } catch (XmlValueDisconnectedException e) {
-        logger.warn(e);
+      if (excelWriter.isRemoved(row)) {
+        logger.debug("Skipping removed row");
+      } else if (isLoopStart(row)) {
+        toProcess = handleLoop(row, toProcess);
+      } else {
+        handleRow(row);
       }
     }
     logger.debug("Finished generation of elements by resolver {}", resolver);
@@ -92,19 +179,17 @@ public class ExcelGenerator {
     if (notInNestedLoop()) {
       // We can operate on original row
       excelWriter.setRow(row);
+      excelWriter.addRowToIgnore(row.getRowNum());
+      excelWriter.updateRowsWritten(1);
     } else {
-      // We need to insert a new row
-      excelWriter.shiftRows(row.getRowNum(), 1); // shift rows below insertion point one down, so we do not overwrite an existing one
-      excelWriter.newRow(row);
+      insertRow(row);
     }
-    excelWriter.addRowToIgnore(row.getRowNum());
-    excelWriter.updateRowsWritten(1);
     ModificationInformation modificationInformation = new ModificationInformation(Optional.empty(), 0);
     for (Cell cell : row) {
       Optional<Integer> skipUntil = modificationInformation.skipUntil();
       if (skipUntil.isEmpty() || cell.getColumnIndex() > skipUntil.get()) {
         if (ExcelUtils.containsPlaceholder(cell)) {
-          var newModificationInformation = replacePlaceholder(cell, modificationInformation.offset());
+          var newModificationInformation = replacePlaceholder(cell, modificationInformation.offset(), nestedLoopDepth > 0);
           modificationInformation = modificationInformation.merge(newModificationInformation);
         } else if (nestedLoopDepth != 0) {
           excelWriter.addCell(cell);
@@ -113,20 +198,35 @@ public class ExcelGenerator {
     }
   }
 
-  private ModificationInformation replacePlaceholder(Cell cell, int offset) {
-    String cellValue = ExcelUtils.getCellContentAsString(cell);
+  private void insertRow(Row row) {
+    // We need to insert a new row
+    excelWriter.shiftRows(row.getRowNum(), 1); // shift rows below insertion point one down, so we do not overwrite an existing one
+    excelWriter.newRow(row);
+    excelWriter.addRowToIgnore(row.getRowNum());
+    excelWriter.updateRowsWritten(1);
+  }
+
+  private ModificationInformation replacePlaceholder(Cell cell, int offset, boolean inNewRow) {
+    return writeValue(cell, resolveValue(ExcelUtils.getCellContentAsString(cell), resolver), offset, inNewRow);
+  }
+
+  /**
+   * Resolve the placeholders of a cell text.
+   * Does not access the workbook, so it can be called from threads other than the one writing the document.
+   *
+   * @param cellValue The text of the template cell
+   * @param resolver  The resolver to use for looking up placeholders
+   * @return The value to write into the cell
+   */
+  private static ResolvedValue resolveValue(String cellValue, PlaceholderResolver resolver) {
     Optional<PlaceholderData> placeholderDataOptional = ExcelUtils.resolveCell(cellValue, resolver);
     if (placeholderDataOptional.isPresent()) {
       PlaceholderData placeholderData = placeholderDataOptional.get();
       if (placeholderData instanceof ScalarPlaceholderData<?> scalarPlaceholderData
           && scalarPlaceholderData.getRawValue() instanceof Number number) {
-        if(nestedLoopDepth > 0)
-          excelWriter.addCell(cell, number.doubleValue());
-        else // if we are not in a loop, we can set the cell value directly, otherwise we would overwrite the template cell and styles (*)
-          cell.setCellValue(number.doubleValue());
-        return ModificationInformation.empty();
+        return new NumericValue(number.doubleValue());
       } else if (placeholderData.getType().equals(PlaceholderType.CUSTOM) && placeholderData instanceof ExcelPlaceholderData excelPlaceholderData) {
-        return excelPlaceholderData.transform(cell, excelWriter, offset, LocaleUtil.getUserLocale(), options);
+        return new CustomValue(excelPlaceholderData);
       }
     }
     // to resolve cell content such as "{{name}} {{crew}}", we match against the full string and resolve per match
@@ -138,10 +238,26 @@ public class ExcelGenerator {
             // see: https://docs.oracle.com/en/java/javase/21/docs//api/java.base/java/lang/String.html#replaceAll(java.lang.String,java.lang.String)
             .map(Matcher::quoteReplacement)
             .orElse(""));
-    if(nestedLoopDepth > 0)
-      excelWriter.addCell(cell, newCellText);
-    else // (*) see above
-      cell.setCellValue(newCellText);
+    return new TextValue(newCellText);
+  }
+
+  private ModificationInformation writeValue(Cell cell, ResolvedValue value, int offset, boolean inNewRow) {
+    if (value instanceof NumericValue numericValue) {
+      if(inNewRow)
+        excelWriter.addCell(cell, numericValue.value());
+      else // if we are not in a loop, we can set the cell value directly, otherwise we would overwrite the template cell and styles (*)
+        excelWriter.updateCell(cell, numericValue.value());
+    } else if (value instanceof TextValue textValue) {
+      if(inNewRow)
+        excelWriter.addCell(cell, textValue.text());
+      else // (*) see above
+        excelWriter.updateCell(cell, textValue.text());
+    } else if (value instanceof CustomValue customValue) {
+      // custom data writes to the workbook itself, so it is only applied by the thread writing the document
+      return customValue.placeholderData().transform(cell, excelWriter, offset, LocaleUtil.getUserLocale(), options);
+    } else {
+      excelWriter.addCell(cell);
+    }
     return ModificationInformation.empty();
   }
 
@@ -158,21 +274,33 @@ public class ExcelGenerator {
       excelWriter.setSectionOffset(loopSize);
     }
     var loopBodyWithoutTags = loopBody.subList(1, loopBody.size() - 1);  // remove loop opening and closing tag
-    PlaceholderData placeholderData = getPlaceholderData(row);
-    placeholderData.stream().forEach(placeholderResolver ->
-        ExcelGenerator.apply(placeholderResolver, loopBodyWithoutTags, excelWriter, nestedLoopDepth + 1, options));
+    long start = GenerationContext.startTimer();
+    var event = new LoopUnrollEvent();
+    event.begin();
+    var placeholder = ExcelUtils.getPlaceholder(row.getCell(row.getFirstCellNum()));
+    PlaceholderData placeholderData = getPlaceholderData(placeholder);
+    long items;
+    if (placeholderData instanceof ColumnarPlaceholderData columnarPlaceholderData
+        && loopBodyWithoutTags.stream().noneMatch(ExcelUtils::isLoopEnd)) {
+      items = unrollColumnarLoop(columnarPlaceholderData, loopBodyWithoutTags);
+    } else if (loopExecutor.isPresent() && loopBodyWithoutTags.stream().noneMatch(ExcelUtils::isLoopEnd)) {
+      items = unrollLoopConcurrently(placeholderData, loopBodyWithoutTags, loopExecutor.get());
+    } else {
+      items = unrollLoop(placeholderData, loopBodyWithoutTags);
+    }
+    GenerationContext.record(GenerationPhase.LOOP_UNROLL, start, items, placeholder);
+    event.end();
+    if (event.shouldCommit()) {
+      event.template = GenerationContext.currentTemplate();
+      event.placeholder = placeholder;
+      event.items = items;
+      event.commit();
+    }
     if (notInNestedLoop()) {
       // Processing of the outermost loop has finished, we can delete the template
       int rowNum = row.getRowNum();
       excelWriter.finishLoopProcessing(rowNum, loopSize);
-      rows = rows.stream().filter(row1 -> {
-        try {
-          row1.toString();
-          return true;
-        } catch (XmlValueDisconnectedException ignored) {
-          return false;
-        }
-      }).toList();
+      rows = rows.stream().filter(row1 -> !excelWriter.isRemoved(row1)).toList();
     } else {
       // We finished a nested loop, remove the template from the working set to continue processing of the current iteration
       rows = rows.subList(loopBodyWithoutTags.size() + 1, rows.size());
@@ -180,6 +308,195 @@ public class ExcelGenerator {
     return rows;
   }
 
+  private long unrollLoop(PlaceholderData placeholderData, List<Row> loopBody) {
+    Supplier<Set<String>> placeholderNames = Suppliers.memoize(() -> collectPlaceholderNames(loopBody));
+    long items = 0;
+    for (Iterator<PlaceholderResolver> iterator = placeholderData.stream().iterator(); iterator.hasNext(); items++) {
+      GenerationContext.checkpoint();
+      ExcelGenerator.apply(iterator.next(), loopBody, placeholderNames, excelWriter, nestedLoopDepth + 1, options, loopExecutor);
+    }
+    return items;
+  }
+
+  /**
+   * Write a loop over {@link ColumnarPlaceholderData} straight from its columns.
+   * The cells of the loop body are classified once, afterwards each item is written without resolving placeholders.
+   * Placeholders which are not backed by a column are resolved by the enclosing resolver.
+   *
+   * @param columnarPlaceholderData The columnar data of the loop
+   * @param loopBody                The rows of the loop body, without the opening and closing tag, may not contain nested loops
+   * @return The number of written items
+   */
+  private long unrollColumnarLoop(ColumnarPlaceholderData columnarPlaceholderData, List<Row> loopBody) {
+    logger.debug("Unrolling columnar loop with {} items", columnarPlaceholderData.count());
+    List<ColumnarRow> columnarRows = loopBody.stream()
+        .map(row -> toColumnarRow(row, columnarPlaceholderData))
+        .toList();
+    NumberFormat numberFormat = NumberFormat.getInstance(LocaleUtil.getUserLocale());
+    for (int item = 0; item < columnarPlaceholderData.count(); item++) {
+      GenerationContext.checkpoint();
+      for (ColumnarRow columnarRow : columnarRows) {
+        writeColumnarRow(columnarRow, columnarPlaceholderData, item, numberFormat);
+      }
+    }
+    return columnarPlaceholderData.count();
+  }
+
+  private ColumnarRow toColumnarRow(Row row, ColumnarPlaceholderData columnarPlaceholderData) {
+    List<ColumnarCell> cells = new ArrayList<>();
+    for (Cell cell : row) {
+      if (!ExcelUtils.containsPlaceholder(cell)) {
+        cells.add(new ColumnarCell(cell, Optional.empty(), false, false));
+        continue;
+      }
+      String cellValue = ExcelUtils.getCellContentAsString(cell);
+      var placeholders = ParsingUtils.matchPlaceholders(cellValue).results()
+          .map(matchResult -> matchResult.group(1))
+          .toList();
+      Optional<ColumnarPlaceholderData.Column> column = Optional.empty();
+      if (placeholders.size() == 1 && cellValue.strip().equals("{{%s}}".formatted(placeholders.get(0)))) {
+        column = columnarPlaceholderData.column(placeholders.get(0));
+      }
+      boolean containsColumn = column.isEmpty() && placeholders.stream().anyMatch(columnarPlaceholderData::hasColumn);
+      cells.add(new ColumnarCell(cell, column, containsColumn, true));
+    }
+    return new ColumnarRow(row, cells);
+  }
+
+  private void writeColumnarRow(ColumnarRow columnarRow, ColumnarPlaceholderData columnarPlaceholderData, int item, NumberFormat numberFormat) {
+    insertRow(columnarRow.row());
+    ModificationInformation modificationInformation = ModificationInformation.empty();
+    for (ColumnarCell columnarCell : columnarRow.cells()) {
+      Cell cell = columnarCell.cell();
+      Optional<Integer> skipUntil = modificationInformation.skipUntil();
+      if (skipUntil.isPresent() && cell.getColumnIndex() <= skipUntil.get()) {
+        continue;
+      }
+      if (columnarCell.column().isPresent()) {
+        writeColumnValue(cell, columnarCell.column().get(), item);
+      } else if (columnarCell.containsColumn()) {
+        String newCellText = ParsingUtils.matchPlaceholders(ExcelUtils.getCellContentAsString(cell))
+            .replaceAll(matchResult -> Matcher.quoteReplacement(columnarPlaceholderData.column(matchResult.group(1))
+                .map(column -> column.format(item, numberFormat))
+                .or(() -> resolver.resolve(matchResult.group(1)).map(Object::toString))
+                .orElse("")));
+        excelWriter.addCell(cell, newCellText);
+      } else if (columnarCell.containsPlaceholder()) {
+        var newModificationInformation = replacePlaceholder(cell, modificationInformation.offset(), true);
+        modificationInformation = modificationInformation.merge(newModificationInformation);
+      } else {
+        excelWriter.addCell(cell);
+      }
+    }
+  }
+
+  private void writeColumnValue(Cell cell, ColumnarPlaceholderData.Column column, int item) {
+    if (column instanceof ColumnarPlaceholderData.DoubleColumn doubleColumn) {
+      excelWriter.addCell(cell, doubleColumn.values()[item]);
+    } else if (column instanceof ColumnarPlaceholderData.LongColumn longColumn) {
+      excelWriter.addCell(cell, (double) longColumn.values()[item]);
+    } else if (column instanceof ColumnarPlaceholderData.StringColumn stringColumn) {
+      excelWriter.addCell(cell, stringColumn.format(item, null));
+    }
+  }
+
+  /**
+   * Write a loop whose items are resolved concurrently on the executor.
+   * The template cells are read once up front, the workers only resolve the placeholders of an item into a buffer of
+   * {@link ResolvedRow}s. The buffers are written by the calling thread strictly in the order of the items, with at most
+   * {@link #LOOK_AHEAD_PER_THREAD} items per thread resolved ahead of the item currently written.
+   * Only used for loop bodies without nested loops.
+   *
+   * @param placeholderData The data of the loop
+   * @param loopBody        The rows of the loop body, without the loop tags
+   * @param executor        The executor to resolve the items on
+   * @return The number of written items
+   */
+  private long unrollLoopConcurrently(PlaceholderData placeholderData, List<Row> loopBody, GenerationExecutor executor) {
+    List<TemplateRow> templateRows = loopBody.stream()
+        .map(ExcelGenerator::toTemplateRow)
+        .toList();
+    Supplier<Set<String>> placeholderNames = Suppliers.memoize(() -> collectPlaceholderNames(loopBody));
+    int lookAhead = options.loopParallelism() * LOOK_AHEAD_PER_THREAD;
+    Locale locale = LocaleUtil.getUserLocale();
+    Deque<PendingItem> pendingItems = new ArrayDeque<>(lookAhead);
+    Iterator<PlaceholderResolver> items = placeholderData.stream().iterator();
+    long written = 0;
+    try {
+      while (items.hasNext() || !pendingItems.isEmpty()) {
+        while (items.hasNext() && pendingItems.size() < lookAhead) {
+          PlaceholderResolver itemResolver = items.next();
+          pendingItems.addLast(new PendingItem(itemResolver,
+              executor.submit(() -> resolveItem(templateRows, placeholderNames, itemResolver, locale))));
+        }
+        GenerationContext.checkpoint();
+        PendingItem item = pendingItems.removeFirst();
+        new ExcelGenerator(loopBody, excelWriter, item.resolver(), nestedLoopDepth + 1, options, loopExecutor)
+            .writeResolvedRows(join(item.rows()));
+        written++;
+      }
+    } finally {
+      pendingItems.forEach(item -> item.rows().cancel());
+    }
+    return written;
+  }
+
+  private static TemplateRow toTemplateRow(Row row) {
+    List<TemplateCell> cells = new ArrayList<>();
+    for (Cell cell : row) {
+      cells.add(new TemplateCell(cell,
+          ExcelUtils.containsPlaceholder(cell) ? Optional.of(ExcelUtils.getCellContentAsString(cell)) : Optional.empty()));
+    }
+    return new TemplateRow(row, cells);
+  }
+
+  private static List<ResolvedRow> resolveItem(List<TemplateRow> templateRows, Supplier<Set<String>> placeholderNames,
+                                               PlaceholderResolver itemResolver, Locale locale) {
+    // the item might be resolved by the thread writing the document if no other thread has started it
+    Locale previousLocale = LocaleUtil.getUserLocale();
+    LocaleUtil.setUserLocale(locale); // LU is thread-local
+    try {
+      GenerationContext.checkpoint();
+      var prefetchedResolver = PrefetchedResolver.prefetch(itemResolver, placeholderNames, locale);
+      return templateRows.stream()
+          .map(templateRow -> new ResolvedRow(templateRow.row(), templateRow.cells().stream()
+              .map(templateCell -> new ResolvedCell(templateCell.cell(), templateCell.text()
+                  .map(text -> resolveValue(text, prefetchedResolver))
+                  .orElse(UnchangedValue.INSTANCE)))
+              .toList()))
+          .toList();
+    } finally {
+      LocaleUtil.setUserLocale(previousLocale);
+    }
+  }
+
+  private static List<ResolvedRow> join(GenerationExecutor.Task<List<ResolvedRow>> resolvedRows) {
+    try {
+      return resolvedRows.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("Failed to resolve loop item", e.getCause());
+    }
+  }
+
+  private void writeResolvedRows(List<ResolvedRow> resolvedRows) {
+    for (ResolvedRow resolvedRow : resolvedRows) {
+      insertRow(resolvedRow.row());
+      ModificationInformation modificationInformation = ModificationInformation.empty();
+      for (ResolvedCell resolvedCell : resolvedRow.cells()) {
+        Optional<Integer> skipUntil = modificationInformation.skipUntil();
+        if (skipUntil.isEmpty() || resolvedCell.cell().getColumnIndex() > skipUntil.get()) {
+          var newModificationInformation = writeValue(resolvedCell.cell(), resolvedCell.value(), modificationInformation.offset(), true);
+          if (resolvedCell.value() != UnchangedValue.INSTANCE) {
+            modificationInformation = modificationInformation.merge(newModificationInformation);
+          }
+        }
+      }
+    }
+  }
+
   private boolean notInNestedLoop() {
     return nestedLoopDepth == 0;
   }
@@ -220,8 +537,7 @@ public class ExcelGenerator {
     return loopBody.get(loopBody.size() - 1).getRowNum() - loopBody.get(0).getRowNum() + 1;  //inclusive
   }
 
-  private PlaceholderData getPlaceholderData(Row row) {
-    var placeholder = ExcelUtils.getPlaceholder(row.getCell(row.getFirstCellNum()));
+  private PlaceholderData getPlaceholderData(String placeholder) {
     logger.debug("Resolving placeholder of {}", placeholder);
     return resolver
         .resolve(placeholder)
@@ -259,4 +575,58 @@ public class ExcelGenerator {
     }
     return false;
   }
+
+  /**
+   * A template cell of a columnar loop body.
+   *
+   * @param cell                The template cell
+   * @param column              The column if the cell consists of exactly one placeholder backed by a column
+   * @param containsColumn      Whether the cell text mixes placeholders backed by columns with other content
+   * @param containsPlaceholder Whether the cell contains any placeholder
+   */
+  private record ColumnarCell(Cell cell, Optional<ColumnarPlaceholderData.Column> column, boolean containsColumn, boolean containsPlaceholder) {
+  }
+
+  private record ColumnarRow(Row row, List<ColumnarCell> cells) {
+  }
+
+  /**
+   * A template cell of a loop body resolved concurrently.
+   *
+   * @param cell The template cell
+   * @param text The text of the cell if it contains a placeholder
+   */
+  private record TemplateCell(Cell cell, Optional<String> text) {
+  }
+
+  private record TemplateRow(Row row, List<TemplateCell> cells) {
+  }
+
+  private record ResolvedCell(Cell cell, ResolvedValue value) {
+  }
+
+  private record ResolvedRow(Row row, List<ResolvedCell> cells) {
+  }
+
+  private record PendingItem(PlaceholderResolver resolver, GenerationExecutor.Task<List<ResolvedRow>> rows) {
+  }
+
+  /**
+   * The value of a template cell after resolving its placeholders.
+   */
+  private sealed interface ResolvedValue permits NumericValue, TextValue, CustomValue, UnchangedValue {
+  }
+
+  private record NumericValue(double value) implements ResolvedValue {
+  }
+
+  private record TextValue(String text) implements ResolvedValue {
+  }
+
+  private record CustomValue(ExcelPlaceholderData placeholderData) implements ResolvedValue {
+  }
+
+  private enum UnchangedValue implements ResolvedValue {
+    INSTANCE
+  }
 }
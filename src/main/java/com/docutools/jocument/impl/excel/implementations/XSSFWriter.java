@@ -1,10 +1,19 @@
 package com.docutools.jocument.impl.excel.implementations;
 
+import com.docutools.jocument.impl.GenerationContext;
 import com.docutools.jocument.impl.excel.interfaces.ExcelWriter;
-import java.util.HashMap;
+import com.docutools.jocument.impl.jfr.ExcelShiftRowsEvent;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.poi.ss.usermodel.Cell;
@@ -32,9 +41,25 @@ public class XSSFWriter implements ExcelWriter {
   private final CreationHelper creationHelper;
   /**
    * Maps the {@link CellStyle} objects of the old workbook to the new ones.
+   * Might be shared between the writers of multiple sheets of the same workbook.
    */
-  private final Map<Integer, CellStyle> cellStyleMap = new HashMap<>();
+  private final Map<Integer, CellStyle> cellStyleMap;
+  /**
+   * Guards the structure of the workbook. Cells and rows are written holding the read lock, shifting and removing rows
+   * holds the write lock, since it rewrites formulas, named ranges and the calc chain across all sheets.
+   * Might be shared between the writers of multiple sheets of the same workbook.
+   */
+  private final ReadWriteLock structureLock;
   private final SortedSet<Integer> rowsToIgnore = new TreeSet<>();
+  /**
+   * The columns of the current sheet whose width has already been copied from the template.
+   */
+  private final BitSet columnWidthsCopied = new BitSet();
+  /**
+   * The rows of the current sheet removed by this writer.
+   * Compared by identity, since {@link Row#equals(Object)} would access the disconnected XML of the removed rows.
+   */
+  private final Set<Row> removedRows = Collections.newSetFromMap(new IdentityHashMap<>());
   private Sheet currentSheet;
   private Row currentRow;
   private int leftMostColumn = -1;
@@ -46,24 +71,62 @@ public class XSSFWriter implements ExcelWriter {
    * Creates a new SXSSFWriter.
    */
   public XSSFWriter(Workbook workbook) {
+    this(workbook, new ConcurrentHashMap<>(), new ReentrantReadWriteLock());
+  }
+
+  /**
+   * Creates a new writer sharing its style mappings and structure lock with other writers of the same workbook.
+   * Writes to structures shared by all sheets of the workbook (styles, shared strings) are synchronized on the workbook,
+   * shifting and removing rows excludes all other writes, so multiple writers can be used concurrently on different sheets.
+   *
+   * @param workbook      The workbook to write to
+   * @param cellStyleMap  The style mappings, has to be safe for concurrent access if shared between threads
+   * @param structureLock The lock guarding the structure of the workbook, shared by all writers of the workbook
+   */
+  public XSSFWriter(Workbook workbook, Map<Integer, CellStyle> cellStyleMap, ReadWriteLock structureLock) {
     this.creationHelper = workbook.getCreationHelper();
     this.workbook = workbook;
+    this.cellStyleMap = cellStyleMap;
+    this.structureLock = structureLock;
   }
 
   @Override
   public void newSheet(Sheet sheet) {
     currentSheet = sheet;
+    leftMostColumn = -1;
+    rightMostColumn = -1;
+    columnWidthsCopied.clear();
+    removedRows.clear();
   }
 
   @Override
   public void newRow(Row row) {
+    Lock lock = structureLock.readLock();
+    lock.lock();
+    try {
+      createRow(row);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void createRow(Row row) {
     logger.debug("Creating new row {}",
         row.getRowNum() + sectionOffset + rowsWritten - rowsToIgnore.headSet(row.getRowNum()).size()); //row num is 0 based
-    currentRow = currentSheet.createRow(
-        row.getRowNum() + sectionOffset + rowsWritten - rowsToIgnore.headSet(row.getRowNum()).size());
+    int rowNum = row.getRowNum() + sectionOffset + rowsWritten - rowsToIgnore.headSet(row.getRowNum()).size();
+    Row replacedRow = currentSheet.getRow(rowNum);
+    if (replacedRow != null) {
+      // creating a row replaces the existing one
+      removedRows.add(replacedRow);
+    }
+    currentRow = currentSheet.createRow(rowNum);
     currentRow.setHeight(row.getHeight());
     if (row.isFormatted()) {
-      currentRow.setRowStyle(cellStyleMap.computeIfAbsent((int) row.getRowStyle().getIndex(), i -> copyStyle(row.getRowStyle())));
+      CellStyle rowStyle = mapStyle(row.getRowStyle(), row.getSheet().getWorkbook());
+      // assigning a style registers it in the styles table of the workbook
+      synchronized (workbook) {
+        currentRow.setRowStyle(rowStyle);
+      }
     }
     currentRow.setZeroHeight(row.getZeroHeight());
     updateColumnStyles(row);
@@ -89,7 +152,7 @@ public class XSSFWriter implements ExcelWriter {
       logger.debug("Rightmost column: {}", rightMostColumn);
     }
     if (row.getFirstCellNum() < leftMostColumn) {
-      for (; leftMostColumn > row.getLastCellNum(); leftMostColumn--) {
+      for (; leftMostColumn > row.getFirstCellNum(); leftMostColumn--) {
         copyColumnStyle(leftMostColumn);
       }
       logger.debug("Leftmost column: {}", leftMostColumn);
@@ -106,22 +169,36 @@ public class XSSFWriter implements ExcelWriter {
     }
   }
 
-  private void copyColumnStyle(int rightMostColumn) {
-    CellStyle columnStyle = currentSheet.getColumnStyle(rightMostColumn);
+  private void copyColumnStyle(int column) {
+    CellStyle columnStyle = currentSheet.getColumnStyle(column);
     if (columnStyle != null) {
-      currentSheet.setDefaultColumnStyle(rightMostColumn,
-          cellStyleMap.computeIfAbsent((int) columnStyle.getIndex(), i -> copyStyle(columnStyle)));
+      CellStyle mappedStyle = mapStyle(columnStyle, currentSheet.getWorkbook());
+      if (mappedStyle != columnStyle) {
+        synchronized (workbook) {
+          currentSheet.setDefaultColumnStyle(column, mappedStyle);
+        }
+      }
     }
   }
 
   @Override
   public void addCell(Cell cell) {
+    Lock lock = structureLock.readLock();
+    lock.lock();
+    try {
+      copyCell(cell);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void copyCell(Cell cell) {
     logger.trace("Creating new cell {} {}", cell.getColumnIndex(), cell.getRow().getRowNum());
     var newCell = createNewCell(cell, 0);
     switch (cell.getCellType()) {
       case NUMERIC -> newCell.setCellValue(cell.getNumericCellValue());
-      case STRING -> newCell.setCellValue(cell.getStringCellValue());
-      case FORMULA -> newCell.setCellFormula(cell.getCellFormula());
+      case STRING -> setText(newCell, cell.getStringCellValue());
+      case FORMULA -> setFormula(newCell, cell.getCellFormula());
       case BLANK -> newCell.setBlank();
       case BOOLEAN -> newCell.setCellValue(cell.getBooleanCellValue());
       case ERROR -> newCell.setCellErrorValue(cell.getErrorCellValue());
@@ -152,11 +229,17 @@ public class XSSFWriter implements ExcelWriter {
   public void addCell(Cell templateCell, String newCellText, int columnOffset) {
     logger.trace("Creating new cell {} {} with text {}",
         templateCell.getColumnIndex() + columnOffset, templateCell.getRow().getRowNum(), newCellText);
-    var newCell = createNewCell(templateCell, columnOffset);
-    if (templateCell.getCellType() == CellType.FORMULA) {
-      newCell.setCellFormula(newCellText);
-    } else {
-      newCell.setCellValue(newCellText);
+    Lock lock = structureLock.readLock();
+    lock.lock();
+    try {
+      var newCell = createNewCell(templateCell, columnOffset);
+      if (templateCell.getCellType() == CellType.FORMULA) {
+        setFormula(newCell, newCellText);
+      } else {
+        setText(newCell, newCellText);
+      }
+    } finally {
+      lock.unlock();
     }
   }
 
@@ -164,19 +247,101 @@ public class XSSFWriter implements ExcelWriter {
   public void addCell(Cell templateCell, double newCellValue, int columnOffset) {
     logger.trace("Creating new cell {} {} with double value {} and offset {}",
         templateCell.getColumnIndex(), templateCell.getRow().getRowNum(), newCellValue, columnOffset);
-    var newCell = createNewCell(templateCell, columnOffset);
-    newCell.setCellValue(newCellValue);
+    Lock lock = structureLock.readLock();
+    lock.lock();
+    try {
+      createNewCell(templateCell, columnOffset).setCellValue(newCellValue);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void updateCell(Cell cell, String newCellText) {
+    Lock lock = structureLock.readLock();
+    lock.lock();
+    try {
+      setText(cell, newCellText);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void updateCell(Cell cell, double newCellValue) {
+    Lock lock = structureLock.readLock();
+    lock.lock();
+    try {
+      cell.setCellValue(newCellValue);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void setText(Cell cell, String text) {
+    // strings are stored in the shared strings table of the workbook
+    synchronized (workbook) {
+      cell.setCellValue(text);
+    }
+  }
+
+  private void setFormula(Cell cell, String formula) {
+    // parsing formulas accesses the workbook, e.g. for resolving sheet names
+    synchronized (workbook) {
+      cell.setCellFormula(formula);
+    }
   }
 
   private Cell createNewCell(Cell templateCell, int columnOffset) {
     var newCell = currentRow.createCell(templateCell.getColumnIndex() + columnOffset, templateCell.getCellType());
-    newCell.setCellComment(templateCell.getCellComment());
-    newCell.setCellStyle(cellStyleMap.computeIfAbsent((int) templateCell.getCellStyle().getIndex(), i -> copyStyle(templateCell.getCellStyle())));
-    newCell.setHyperlink(templateCell.getHyperlink());
-    currentSheet.setColumnWidth(templateCell.getColumnIndex(), templateCell.getSheet().getColumnWidth(templateCell.getColumnIndex()));
+    var comment = templateCell.getCellComment();
+    if (comment != null) {
+      newCell.setCellComment(comment);
+    }
+    CellStyle cellStyle = mapStyle(templateCell.getCellStyle(), templateCell.getSheet().getWorkbook());
+    // assigning a style registers it in the styles table of the workbook
+    synchronized (workbook) {
+      newCell.setCellStyle(cellStyle);
+    }
+    var hyperlink = templateCell.getHyperlink();
+    if (hyperlink != null) {
+      newCell.setHyperlink(hyperlink);
+    }
+    copyColumnWidth(templateCell);
     return newCell;
   }
 
+  private void copyColumnWidth(Cell templateCell) {
+    int column = templateCell.getColumnIndex();
+    Sheet templateSheet = templateCell.getSheet();
+    // when the template sheet is the sheet written to, the width is already in place
+    if (templateSheet != currentSheet && !columnWidthsCopied.get(column)) {
+      currentSheet.setColumnWidth(column, templateSheet.getColumnWidth(column));
+      columnWidthsCopied.set(column);
+    }
+  }
+
+  /**
+   * Get the style to use in the generated document for a style of the template.
+   * If the template style belongs to the workbook written to, it is reused, otherwise it is cloned into the workbook once.
+   *
+   * @param templateStyle    The style of the template
+   * @param templateWorkbook The workbook the template style belongs to
+   * @return The style to use in the generated document
+   */
+  private CellStyle mapStyle(CellStyle templateStyle, Workbook templateWorkbook) {
+    return cellStyleMap.computeIfAbsent((int) templateStyle.getIndex(), i -> {
+      if (templateWorkbook == workbook) {
+        synchronized (workbook) {
+          // https://bz.apache.org/bugzilla/show_bug.cgi?id=69629
+          setDefaultColorToBlack(templateStyle);
+        }
+        return templateStyle;
+      }
+      return copyStyle(templateStyle);
+    });
+  }
+
   @Override
   public void setRow(Row row) {
     this.currentRow = row;
@@ -184,25 +349,53 @@ public class XSSFWriter implements ExcelWriter {
 
   @Override
   public void deleteRows(int loopStart, int noRows) {
-    for (int i = loopStart; i < loopStart + noRows; i++) {
-      Row row = currentSheet.getRow(i);
-      if (row != null) {
-        currentSheet.removeRow(row);
+    Lock lock = structureLock.writeLock();
+    lock.lock();
+    try {
+      for (int i = loopStart; i < loopStart + noRows; i++) {
+        Row row = currentSheet.getRow(i);
+        if (row != null) {
+          currentSheet.removeRow(row);
+          removedRows.add(row);
+        }
       }
-    }
-    if (loopStart + noRows <= currentSheet.getLastRowNum()) {
-      currentSheet.shiftRows(loopStart + noRows, currentSheet.getLastRowNum(), -noRows);
+      if (loopStart + noRows <= currentSheet.getLastRowNum()) {
+        shiftSheetRows(loopStart + noRows, currentSheet.getLastRowNum(), -noRows);
+      }
+    } finally {
+      lock.unlock();
     }
   }
 
   @Override
   public void shiftRows(int startingRow, int toShift) {
     //rows are 1 indexed, row nums 0
-    if (startingRow + sectionOffset + rowsWritten - rowsToIgnore.headSet(startingRow).size()
-        <= currentSheet.getLastRowNum()) {
-      currentSheet.shiftRows(startingRow + sectionOffset + rowsWritten - rowsToIgnore.headSet(startingRow).size(),
-          currentSheet.getLastRowNum(),
-          toShift);
+    int firstRow = startingRow + sectionOffset + rowsWritten - rowsToIgnore.headSet(startingRow).size();
+    // only this writer changes the rows of the current sheet, so the check does not need the lock
+    if (firstRow > currentSheet.getLastRowNum()) {
+      return; // appending below the last row, e.g. a loop at the end of the sheet, does not shift anything
+    }
+    Lock lock = structureLock.writeLock();
+    lock.lock();
+    try {
+      shiftSheetRows(firstRow, currentSheet.getLastRowNum(), toShift);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void shiftSheetRows(int firstRow, int lastRow, int shift) {
+    var event = new ExcelShiftRowsEvent();
+    event.begin();
+    currentSheet.shiftRows(firstRow, lastRow, shift);
+    event.end();
+    if (event.shouldCommit()) {
+      event.template = GenerationContext.currentTemplate();
+      event.sheet = currentSheet.getSheetName();
+      event.firstRow = firstRow;
+      event.lastRow = lastRow;
+      event.shift = shift;
+      event.commit();
     }
   }
 
@@ -229,12 +422,19 @@ public class XSSFWriter implements ExcelWriter {
     rowsToIgnore.clear();
   }
 
+  @Override
+  public boolean isRemoved(Row row) {
+    return removedRows.contains(row);
+  }
+
   private CellStyle copyStyle(CellStyle cellStyle) {
-    var newStyle = workbook.createCellStyle();
-    newStyle.cloneStyleFrom(cellStyle);
-    // https://bz.apache.org/bugzilla/show_bug.cgi?id=69629
-    setDefaultColorToBlack(cellStyle);
-    return newStyle;
+    synchronized (workbook) {
+      var newStyle = workbook.createCellStyle();
+      newStyle.cloneStyleFrom(cellStyle);
+      // https://bz.apache.org/bugzilla/show_bug.cgi?id=69629
+      setDefaultColorToBlack(cellStyle);
+      return newStyle;
+    }
   }
 
   /**
@@ -54,6 +54,24 @@ public interface ExcelWriter {
 
   void addCell(Cell cell);
 
+  /**
+   * Overwrite the value of an existing cell with the specified cell text.
+   * All writes to the document have to go through the writer, since the writer is responsible for guarding
+   * structures shared between sheets (like the shared strings table).
+   *
+   * @param cell        The cell to update
+   * @param newCellText The text to insert into the cell
+   */
+  void updateCell(Cell cell, String newCellText);
+
+  /**
+   * Overwrite the value of an existing cell with the specified numeric value.
+   *
+   * @param cell         The cell to update
+   * @param newCellValue The numeric value to insert into the cell
+   */
+  void updateCell(Cell cell, double newCellValue);
+
   void setRow(Row row);
 
   void deleteRows(int loopStart, int noRows);
@@ -67,4 +85,14 @@ public interface ExcelWriter {
   void setSectionOffset(int rows);
 
   void finishLoopProcessing(int rowNum, int loopSize);
+
+  /**
+   * Check whether the row has been removed from the current sheet by this writer, either by deleting it or by creating
+   * a new row in its place.
+   * The underlying XML of removed rows is disconnected, so they must not be accessed anymore.
+   *
+   * @param row The row to check
+   * @return {@code true} if the row has been removed
+   */
+  boolean isRemoved(Row row);
 }
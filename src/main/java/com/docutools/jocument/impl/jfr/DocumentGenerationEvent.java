@@ -0,0 +1,31 @@
+package com.docutools.jocument.impl.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The generation of a whole document.
+ *
+ * @since 2026-10-19
+ */
+@Name("jocument.Generation")
+@Label("Document Generation")
+@Description("Generation of a document from a template")
+@Category("jocument")
+@Threshold("0 ms")
+@StackTrace(false)
+public class DocumentGenerationEvent extends Event {
+  @Label("Template")
+  public String template;
+
+  @Label("MIME Type")
+  public String mimeType;
+
+  @Label("Resolver")
+  public String resolver;
+}
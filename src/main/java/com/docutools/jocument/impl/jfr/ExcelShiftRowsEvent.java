@@ -0,0 +1,37 @@
+package com.docutools.jocument.impl.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The shifting of rows of an Excel sheet, which rewrites the XML of all shifted rows.
+ *
+ * @since 2026-10-19
+ */
+@Name("jocument.ExcelShiftRows")
+@Label("Excel Shift Rows")
+@Description("Shifting of rows of an Excel sheet")
+@Category("jocument")
+@Threshold("1 ms")
+@StackTrace(false)
+public class ExcelShiftRowsEvent extends Event {
+  @Label("Template")
+  public String template;
+
+  @Label("Sheet")
+  public String sheet;
+
+  @Label("First Row")
+  public int firstRow;
+
+  @Label("Last Row")
+  public int lastRow;
+
+  @Label("Shift")
+  public int shift;
+}
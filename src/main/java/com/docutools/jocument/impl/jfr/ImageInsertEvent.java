@@ -0,0 +1,33 @@
+package com.docutools.jocument.impl.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The loading, scaling and insertion of an image.
+ *
+ * @since 2026-10-19
+ */
+@Name("jocument.ImageInsert")
+@Label("Image Insert")
+@Description("Loading, scaling and insertion of an image into a document")
+@Category("jocument")
+@Threshold("1 ms")
+@StackTrace(false)
+public class ImageInsertEvent extends Event {
+  @Label("Template")
+  public String template;
+
+  @Label("Image")
+  public String image;
+
+  @Label("Size")
+  @DataAmount
+  public long size;
+}
@@ -0,0 +1,31 @@
+package com.docutools.jocument.impl.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The unrolling of a loop, including its nested loops.
+ *
+ * @since 2026-10-19
+ */
+@Name("jocument.LoopUnroll")
+@Label("Loop Unroll")
+@Description("Unrolling of a loop placeholder into its items")
+@Category("jocument")
+@Threshold("1 ms")
+@StackTrace(false)
+public class LoopUnrollEvent extends Event {
+  @Label("Template")
+  public String template;
+
+  @Label("Placeholder")
+  public String placeholder;
+
+  @Label("Items")
+  public long items;
+}
@@ -0,0 +1,35 @@
+package com.docutools.jocument.impl.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The resolution of a single placeholder. Only slow resolutions are recorded by default, since there is one per cell or
+ * paragraph placeholder.
+ *
+ * @since 2026-10-19
+ */
+@Name("jocument.PlaceholderResolve")
+@Label("Placeholder Resolve")
+@Description("Resolution of a placeholder by a resolver")
+@Category("jocument")
+@Threshold("10 ms")
+@StackTrace(false)
+public class PlaceholderResolveEvent extends Event {
+  @Label("Template")
+  public String template;
+
+  @Label("Placeholder")
+  public String placeholder;
+
+  @Label("Resolver")
+  public String resolver;
+
+  @Label("Resolved")
+  public boolean resolved;
+}
@@ -0,0 +1,28 @@
+package com.docutools.jocument.impl.output;
+
+import com.docutools.jocument.MimeType;
+import com.docutools.jocument.OutputTarget;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+public class PathOutputTarget implements OutputTarget {
+
+  private final Path path;
+
+  public PathOutputTarget(Path path) {
+    this.path = path;
+  }
+
+  @Override
+  public OutputStream open(MimeType mimeType) throws IOException {
+    return Files.newOutputStream(path);
+  }
+
+  @Override
+  public Optional<Path> getPath() {
+    return Optional.of(path);
+  }
+}
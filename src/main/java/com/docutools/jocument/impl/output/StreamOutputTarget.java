@@ -0,0 +1,35 @@
+package com.docutools.jocument.impl.output;
+
+import com.docutools.jocument.MimeType;
+import com.docutools.jocument.OutputTarget;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes documents to a stream owned by the caller, which is therefore only flushed, but not closed.
+ */
+public class StreamOutputTarget implements OutputTarget {
+
+  private final OutputStream out;
+
+  public StreamOutputTarget(OutputStream out) {
+    this.out = out;
+  }
+
+  @Override
+  public OutputStream open(MimeType mimeType) {
+    return new FilterOutputStream(out) {
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        // FilterOutputStream would write byte by byte
+        out.write(b, off, len);
+      }
+
+      @Override
+      public void close() throws IOException {
+        flush();
+      }
+    };
+  }
+}
@@ -0,0 +1,36 @@
+package com.docutools.jocument.impl.output;
+
+import com.docutools.jocument.MimeType;
+import com.docutools.jocument.OutputTarget;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+public class TemporaryFileOutputTarget implements OutputTarget {
+
+  private Path path;
+
+  @Override
+  public OutputStream open(MimeType mimeType) throws IOException {
+    path = Files.createTempFile("jocument-", switch (mimeType) {
+      case DOCX -> ".docx";
+      case XLSX -> ".xlsx";
+    });
+    return Files.newOutputStream(path);
+  }
+
+  @Override
+  public Optional<Path> getPath() {
+    return Optional.ofNullable(path);
+  }
+
+  @Override
+  public void discard() throws IOException {
+    if (path != null) {
+      Files.deleteIfExists(path);
+      path = null;
+    }
+  }
+}
@@ -2,16 +2,27 @@ package com.docutools.jocument.impl.template;
 
 import com.docutools.jocument.TemplateSource;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
 public class InMemoryTemplateSource implements TemplateSource {
 
   private final byte[] data;
+  private final String name;
 
   public InMemoryTemplateSource(byte[] data) {
+    this(data, "in-memory template");
+  }
+
+  /**
+   * Creates a new in-memory template source named after the origin of the data, e.g. the template it is a snapshot of.
+   *
+   * @param data the template data
+   * @param name the name of the template, used in logs and generation events
+   */
+  public InMemoryTemplateSource(byte[] data, String name) {
     this.data = data;
+    this.name = name;
   }
 
   /**
@@ -21,14 +32,16 @@ public class InMemoryTemplateSource implements TemplateSource {
    * @throws IOException if there is a problem with transferring data from the input stream to the byte array
    */
   public InMemoryTemplateSource(InputStream in) throws IOException {
-    try (var bos = new ByteArrayOutputStream()) {
-      in.transferTo(bos);
-      this.data = bos.toByteArray();
-    }
+    this(in.readAllBytes());
   }
 
   @Override
   public InputStream open() throws IOException {
     return new ByteArrayInputStream(data);
   }
+
+  @Override
+  public String toString() {
+    return name;
+  }
 }
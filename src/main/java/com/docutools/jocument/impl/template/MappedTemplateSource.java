@@ -0,0 +1,83 @@
+package com.docutools.jocument.impl.template;
+
+import com.docutools.jocument.TemplateSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A template source backed by a read-only memory mapping of the template file.
+ * The file is mapped once, every stream reads from its own view of the mapping, so any number of concurrent generations
+ * share the template data without copying it onto the heap.
+ * Changes to the file after mapping are not supported.
+ */
+public class MappedTemplateSource implements TemplateSource {
+
+  private final Path path;
+  private final ByteBuffer buffer;
+
+  /**
+   * Creates a new mapped template source.
+   *
+   * @param path the template file
+   * @throws IOException if the file couldn't be mapped
+   */
+  public MappedTemplateSource(Path path) throws IOException {
+    this.path = path;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      // the mapping stays valid after the channel has been closed
+      this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+
+  @Override
+  public InputStream open() {
+    return new ByteBufferInputStream(buffer.duplicate());
+  }
+
+  @Override
+  public String toString() {
+    return path.toString();
+  }
+
+  private static class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    private ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int read = Math.min(len, buffer.remaining());
+      buffer.get(b, off, read);
+      return read;
+    }
+
+    @Override
+    public long skip(long n) {
+      int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+      buffer.position(buffer.position() + skipped);
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+  }
+}
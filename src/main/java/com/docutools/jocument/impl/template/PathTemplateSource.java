@@ -24,4 +24,9 @@ public class PathTemplateSource implements TemplateSource {
   public InputStream open() throws IOException {
     return Files.newInputStream(path, StandardOpenOption.READ);
   }
+
+  @Override
+  public String toString() {
+    return path.toString();
+  }
 }
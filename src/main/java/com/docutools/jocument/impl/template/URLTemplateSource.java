@@ -23,4 +23,9 @@ public class URLTemplateSource implements TemplateSource {
   public InputStream open() throws IOException {
     return url.openStream();
   }
+
+  @Override
+  public String toString() {
+    return url.toExternalForm();
+  }
 }
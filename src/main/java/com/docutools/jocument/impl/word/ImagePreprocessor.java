@@ -0,0 +1,201 @@
+package com.docutools.jocument.impl.word;
+
+import com.docutools.jocument.GenerationCancelledException;
+import com.docutools.jocument.impl.GenerationContext;
+import com.docutools.jocument.impl.GenerationExecutor;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Decodes and scales the images of a Word document on a {@link GenerationExecutor} while the generating thread continues
+ * with the rest of the document. The prepared images are inserted by the generating thread in {@link #insertAll()}, since the
+ * document itself is not thread-safe.
+ *
+ * <p>The estimated decoded size of all images in flight (four bytes per pixel, read from the image header) is bounded by
+ * a budget. An image whose size cannot be estimated takes the whole budget.</p>
+ *
+ * @since 2026-10-19
+ */
+public final class ImagePreprocessor implements AutoCloseable {
+  private static final Logger logger = LogManager.getLogger();
+  private static final ThreadLocal<ImagePreprocessor> CURRENT = new ThreadLocal<>();
+  private static final int BYTES_PER_PIXEL = 4;
+  private static final int PERMIT_BYTES = 1024;
+
+  private final GenerationExecutor executor;
+  private final int budgetPermits;
+  private final Semaphore permits;
+  private final List<PendingImage<?>> pending = new ArrayList<>();
+  private final ImagePreprocessor previous;
+
+  private ImagePreprocessor(GenerationExecutor executor, long budgetBytes, ImagePreprocessor previous) {
+    this.executor = executor;
+    this.budgetPermits = (int) Math.min(Integer.MAX_VALUE, Math.max(1, budgetBytes / PERMIT_BYTES));
+    this.permits = new Semaphore(budgetPermits);
+    this.previous = previous;
+  }
+
+  /**
+   * Start preprocessing the images placed by the current thread until the returned preprocessor is closed.
+   *
+   * @param executor    the {@link GenerationExecutor} decoding and scaling the images
+   * @param budgetBytes the maximum estimated size of the decoded images in flight
+   * @return the preprocessor, has to be closed by the current thread
+   */
+  public static ImagePreprocessor start(GenerationExecutor executor, long budgetBytes) {
+    var preprocessor = new ImagePreprocessor(executor, budgetBytes, CURRENT.get());
+    CURRENT.set(preprocessor);
+    return preprocessor;
+  }
+
+  /**
+   * Get the preprocessor of the current thread.
+   *
+   * @return the preprocessor, empty if images have to be inserted right away
+   */
+  public static Optional<ImagePreprocessor> current() {
+    return Optional.ofNullable(CURRENT.get());
+  }
+
+  /**
+   * Estimate the decoded size of an image from its header.
+   *
+   * @param input the image, any input accepted by {@link ImageIO#createImageInputStream(Object)}, e.g. a file
+   * @return the size of the decoded image in bytes, {@code -1} if it cannot be read
+   */
+  public static long estimateDecodedBytes(Object input) {
+    try (ImageInputStream in = ImageIO.createImageInputStream(input)) {
+      return estimateDecodedBytes(in);
+    } catch (IOException e) {
+      logger.debug("Could not read size of image {}", input, e);
+      return -1;
+    }
+  }
+
+  /**
+   * Estimate the decoded size of an encoded image held in memory from its header.
+   *
+   * @param data the encoded image
+   * @return the size of the decoded image in bytes, {@code -1} if it cannot be read
+   */
+  public static long estimateDecodedBytes(byte[] data) {
+    // a memory cache, ImageIO would copy the stream to a temporary file otherwise
+    try (ImageInputStream in = new MemoryCacheImageInputStream(new ByteArrayInputStream(data))) {
+      return estimateDecodedBytes(in);
+    } catch (IOException e) {
+      logger.debug("Could not read size of image data", e);
+      return -1;
+    }
+  }
+
+  private static long estimateDecodedBytes(ImageInputStream in) throws IOException {
+    var readers = in != null ? ImageIO.getImageReaders(in) : null;
+    if (readers != null && readers.hasNext()) {
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(in, true, true);
+        return (long) reader.getWidth(0) * reader.getHeight(0) * BYTES_PER_PIXEL;
+      } finally {
+        reader.dispose();
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Prepare an image in the background and insert it in {@link #insertAll()}.
+   *
+   * @param decodedBytes estimates the size of the decoded image, {@code -1} if unknown, run in the background before
+   *                     the image takes its share of the budget
+   * @param prepare      decodes and scales the image
+   * @param insert       inserts the prepared image, run by the generating thread, receives {@code null} if the image
+   *                     could not be prepared
+   * @param discard      releases a prepared image which will not be inserted, e.g. deletes its file
+   * @param <T>          the type of the prepared image
+   */
+  public <T> void submit(LongSupplier decodedBytes, Supplier<T> prepare, Consumer<T> insert, Consumer<T> discard) {
+    var prepared = executor.submit(() -> {
+      int required = permits(decodedBytes.getAsLong());
+      try {
+        permits.acquire(required);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new GenerationCancelledException("Image preprocessing has been interrupted");
+      }
+      try {
+        return prepare.get();
+      } finally {
+        permits.release(required);
+      }
+    });
+    pending.add(new PendingImage<>(prepared, insert, discard));
+  }
+
+  private int permits(long decodedBytes) {
+    return decodedBytes < 0 ? budgetPermits : (int) Math.min(budgetPermits, Math.max(1, decodedBytes / PERMIT_BYTES));
+  }
+
+  /**
+   * Insert all prepared images in the order they have been submitted, waiting for the ones still in preparation.
+   */
+  public void insertAll() {
+    var iterator = pending.iterator();
+    while (iterator.hasNext()) {
+      var image = iterator.next();
+      GenerationContext.checkpoint();
+      image.insert();
+      iterator.remove();
+    }
+  }
+
+  /**
+   * Stop preprocessing on the current thread. Images prepared but not inserted, e.g. because the generation has been
+   * cancelled, are discarded.
+   */
+  @Override
+  public void close() {
+    if (previous == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(previous);
+    }
+    pending.forEach(PendingImage::discard);
+    pending.clear();
+  }
+
+  private record PendingImage<T>(GenerationExecutor.Task<T> prepared, Consumer<T> inserter, Consumer<T> discarder) {
+
+    void insert() {
+      T image;
+      try {
+        image = prepared.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof GenerationCancelledException cancelled) {
+          throw cancelled;
+        }
+        logger.error("Could not prepare image", e.getCause());
+        image = null;
+      }
+      inserter.accept(image);
+    }
+
+    void discard() {
+      prepared.cancel();
+      prepared.result().thenAccept(discarder);
+    }
+  }
+}
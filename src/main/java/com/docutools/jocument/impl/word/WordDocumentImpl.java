@@ -1,13 +1,15 @@
 package com.docutools.jocument.impl.word;
 
 import com.docutools.jocument.GenerationOptions;
+import com.docutools.jocument.GenerationPhase;
+import com.docutools.jocument.OutputTarget;
 import com.docutools.jocument.PlaceholderResolver;
 import com.docutools.jocument.Template;
 import com.docutools.jocument.impl.DocumentImpl;
+import com.docutools.jocument.impl.GenerationContext;
+import com.docutools.jocument.impl.GenerationExecutor;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import org.apache.logging.log4j.LogManager;
@@ -24,30 +26,48 @@ public class WordDocumentImpl extends DocumentImpl {
     super(template, resolver, options);
   }
 
+  public WordDocumentImpl(Template template, PlaceholderResolver resolver, GenerationOptions options, OutputTarget target) {
+    super(template, resolver, options, target);
+  }
+
   @Override
-  protected Path generate() throws IOException {
+  protected void generate(OutputStream os) throws IOException {
     logger.info("Starting generation");
-    Path file = Files.createTempFile("jocument-", ".docx");
+    long start = GenerationContext.startTimer();
     try (XWPFDocument document = new XWPFDocument(template.openStream())) {
+      GenerationContext.record(GenerationPhase.TEMPLATE_PARSE, start, 1, null);
       List<IBodyElement> bodyElements = new ArrayList<>(document.getBodyElements().size() + document.getHeaderList().size());
       bodyElements.addAll(document.getBodyElements());
       bodyElements.addAll(document.getHeaderList().stream().flatMap(xwpfHeader -> xwpfHeader.getBodyElements().stream()).toList());
       bodyElements.addAll(document.getFooterList().stream().flatMap(xwpfFooter -> xwpfFooter.getBodyElements().stream()).toList());
 
       logger.debug("Retrieved all body elements, starting WordGenerator");
-      WordGenerator.apply(resolver, bodyElements, options);
+      if (options.imageParallelism() > 1) {
+        applyWithImagePreprocessing(bodyElements);
+      } else {
+        WordGenerator.apply(resolver, bodyElements, options);
+      }
 
       cleanLastEmptyPage(document);
 
       document.enforceUpdateFields();
 
-      try (OutputStream os = Files.newOutputStream(file)) {
-        logger.info("Writing document to {}", os);
-        document.write(os);
-      }
+      logger.info("Writing document to {}", os);
+      start = GenerationContext.startTimer();
+      document.write(os);
+      GenerationContext.record(GenerationPhase.SERIALIZATION, start, 1, null);
     }
     logger.info("Finished generation");
-    return file;
+  }
+
+  private void applyWithImagePreprocessing(List<IBodyElement> bodyElements) {
+    // the pool is only created once the first image is submitted
+    try (var executor = GenerationExecutor.of(options, options.imageParallelism());
+         var preprocessor = ImagePreprocessor.start(executor, options.imageMemoryBudget())) {
+      WordGenerator.apply(resolver, bodyElements, options);
+      logger.debug("Inserting preprocessed images");
+      preprocessor.insertAll();
+    }
   }
 
   private void cleanLastEmptyPage(XWPFDocument document) {
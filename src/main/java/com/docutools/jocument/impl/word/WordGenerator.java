@@ -3,12 +3,21 @@ package com.docutools.jocument.impl.word;
 import static com.docutools.jocument.impl.DocumentImpl.TAG_PATTERN;
 
 import com.docutools.jocument.GenerationOptions;
+import com.docutools.jocument.GenerationPhase;
 import com.docutools.jocument.PlaceholderData;
 import com.docutools.jocument.PlaceholderResolver;
 import com.docutools.jocument.PlaceholderType;
+import com.docutools.jocument.impl.GenerationContext;
 import com.docutools.jocument.impl.ParsingUtils;
+import com.docutools.jocument.impl.PrefetchedResolver;
+import com.docutools.jocument.impl.jfr.LoopUnrollEvent;
+import com.google.common.base.Suppliers;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import org.apache.logging.log4j.LogManager;
@@ -34,12 +43,61 @@ class WordGenerator {
   }
 
   static void apply(PlaceholderResolver resolver, List<IBodyElement> elements, GenerationOptions options) {
-    new WordGenerator(resolver, elements, options).generate();
+    apply(resolver, elements, () -> collectPlaceholderNames(elements), options);
+  }
+
+  private static void apply(PlaceholderResolver resolver, List<IBodyElement> elements, Supplier<Set<String>> placeholderNames,
+                            GenerationOptions options) {
+    var prefetchedResolver = PrefetchedResolver.prefetch(resolver, placeholderNames, LocaleUtil.getUserLocale());
+    new WordGenerator(prefetchedResolver, elements, options).generate();
+  }
+
+  private static Set<String> collectPlaceholderNames(List<IBodyElement> elements) {
+    var placeholderNames = new LinkedHashSet<String>();
+    collectPlaceholderNames(elements, placeholderNames);
+    return placeholderNames;
+  }
+
+  /**
+   * Collect the names of the placeholders filled in the scope of the elements, including the ones in tables.
+   * Only the start of a loop is collected, its body is a scope of its own.
+   *
+   * @param elements         the elements of the scope
+   * @param placeholderNames the set to add the names to
+   */
+  private static void collectPlaceholderNames(List<IBodyElement> elements, Set<String> placeholderNames) {
+    List<String> texts = elements.stream()
+        .map(element -> element instanceof XWPFParagraph xwpfParagraph ? WordUtilities.toString(xwpfParagraph) : null)
+        .toList();
+    var loopEnds = ParsingUtils.indexLoopEnds(texts);
+    for (int i = 0; i < elements.size(); i++) {
+      if (elements.get(i) instanceof XWPFTable xwpfTable) {
+        xwpfTable.getRows().stream()
+            .flatMap(xwpfTableRow -> xwpfTableRow.getTableCells().stream())
+            .forEachOrdered(cell -> collectPlaceholderNames(cell.getBodyElements(), placeholderNames));
+      } else if (texts.get(i) != null) {
+        Matcher matcher = TAG_PATTERN.matcher(texts.get(i));
+        if (!matcher.find()) {
+          continue;
+        }
+        var firstPlaceholderName = matcher.group(1);
+        int loopEnd = ParsingUtils.findLoopEnd(loopEnds, firstPlaceholderName, i + 1);
+        if (loopEnd >= 0) {
+          placeholderNames.add(firstPlaceholderName);
+          i = loopEnd;
+          continue;
+        }
+        do {
+          placeholderNames.add(matcher.group(1));
+        } while (matcher.find());
+      }
+    }
   }
 
   private void generate() {
     logger.debug("Starting generation by applying resolver {} to elements {}", resolver, elements);
     for (int i = 0; i < elements.size(); i++) {
+      GenerationContext.checkpoint();
       var element = elements.get(i);
 
       if (element instanceof XWPFSDT || !WordUtilities.exists(element)) {
@@ -86,15 +144,31 @@ class WordGenerator {
   private void unrollLoop(XWPFParagraph start, List<IBodyElement> remaining) {
     var placeholderName = WordUtilities.extractPlaceholderName(start);
     logger.debug("Unrolling loop of {}", placeholderName);
+    long startTime = GenerationContext.startTimer();
+    var event = new LoopUnrollEvent();
+    event.begin();
     var placeholderData = resolver.resolve(placeholderName)
         .filter(p -> p.getType() == PlaceholderType.SET)
         .orElseThrow();
     var content = getLoopBody(placeholderName, remaining);
+    // the copies of the body all contain the placeholders of the template body
+    Supplier<Set<String>> placeholderNames = Suppliers.memoize(() -> collectPlaceholderNames(content));
 
-    placeholderData.stream().forEach(itemResolver ->
-        apply(itemResolver, WordUtilities.copyBefore(content, start), options));
+    long items = 0;
+    for (Iterator<PlaceholderResolver> iterator = placeholderData.stream().iterator(); iterator.hasNext(); items++) {
+      GenerationContext.checkpoint();
+      apply(iterator.next(), WordUtilities.copyBefore(content, start), placeholderNames, options);
+    }
 
     removeLoop(start, content, remaining);
+    GenerationContext.record(GenerationPhase.LOOP_UNROLL, startTime, items, placeholderName);
+    event.end();
+    if (event.shouldCommit()) {
+      event.template = GenerationContext.currentTemplate();
+      event.placeholder = placeholderName;
+      event.items = items;
+      event.commit();
+    }
     logger.debug("Unrolled loop of {}", placeholderName);
   }
 
@@ -2,6 +2,7 @@ package com.docutools.jocument.impl.word;
 
 import com.docutools.jocument.image.ImageStrategy;
 import java.awt.Dimension;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -70,6 +71,44 @@ public class WordImageUtils {
   }
 
 
+  /**
+   * Inserts the encoded image into the {@link org.apache.poi.xwpf.usermodel.XWPFParagraph}, without writing it to a file.
+   *
+   * @param paragraph     the paragraph
+   * @param image         the encoded image
+   * @param name          the name of the image in the document
+   * @param imageStrategy the {@link ImageStrategy}
+   * @return the inserted image
+   */
+  public static XWPFPicture insertImage(XWPFParagraph paragraph, byte[] image, String name, ImageStrategy imageStrategy) {
+    Optional<Dimension> pictureDimensions;
+    try {
+      pictureDimensions = Optional.of(imageStrategy.getDimensions(image));
+    } catch (IOException | IllegalArgumentException e) {
+      logger.error("Could not probe image '%s' for dimensions.".formatted(name), e);
+      pictureDimensions = Optional.empty();
+    }
+    var dim = pictureDimensions
+        .map(dimensions -> scaleToTargetDimensions(dimensions, new Dimension(MAX_PICTURE_WIDTH, MAX_PICTURE_HEIGHT)))
+        .map(WordImageUtils::toEmu)
+        .orElse(DEFAULT_DIM);
+    int contentType;
+    try {
+      contentType = toPoiType(imageStrategy.getMimeType(image));
+    } catch (IOException e) {
+      contentType = DEFAULT_XWPF_CONTENT_TYPE;
+    }
+
+    try {
+      logger.debug("Adding picture {} with content type {} and dimensions {} {}", name, contentType, dim.width, dim.height);
+      return paragraph.createRun()
+          .addPicture(new ByteArrayInputStream(image), contentType, name, dim.width, dim.height);
+    } catch (InvalidFormatException | IOException e) {
+      logger.error("Could not insert image %s.".formatted(name), e);
+      throw new IllegalArgumentException("Could not insert image %s".formatted(name), e);
+    }
+  }
+
   /**
    * Get the dimensions of the image at the provided path, if possible.
    *
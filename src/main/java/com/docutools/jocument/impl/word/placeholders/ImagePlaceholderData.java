@@ -1,26 +1,49 @@
 package com.docutools.jocument.impl.word.placeholders;
 
+import com.docutools.jocument.GenerationCancelledException;
 import com.docutools.jocument.GenerationOptions;
+import com.docutools.jocument.GenerationPhase;
 import com.docutools.jocument.image.ImageReference;
+import com.docutools.jocument.image.ImageStreamSupplier;
 import com.docutools.jocument.image.IncompatibleImageReferenceException;
 import com.docutools.jocument.image.NoWriterFoundException;
+import com.docutools.jocument.impl.GenerationContext;
+import com.docutools.jocument.impl.jfr.ImageInsertEvent;
 import com.docutools.jocument.impl.word.CustomWordPlaceholderData;
+import com.docutools.jocument.impl.word.ImagePreprocessor;
 import com.docutools.jocument.impl.word.WordImageUtils;
 import com.docutools.jocument.impl.word.WordUtilities;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Locale;
+import java.util.function.Supplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.poi.xwpf.usermodel.IBody;
 import org.apache.poi.xwpf.usermodel.IBodyElement;
 import org.apache.poi.xwpf.usermodel.XWPFParagraph;
 
+/**
+ * Replaces a placeholder paragraph with an image, read from a file, from encoded data held in memory or from an already
+ * loaded {@link ImageReference}. Images held in memory are inserted without being written to a file, they are only
+ * decoded if they have to be scaled down to the maximum width or height. Scaled images are encoded in memory as well and
+ * taken from the {@link com.docutools.jocument.image.ScaledImageCache} of the generation, if it has one.
+ */
 public class ImagePlaceholderData extends CustomWordPlaceholderData {
   private static final Logger logger = LogManager.getLogger();
+  private static final String IMAGE_NAME = "image";
 
+  /**
+   * The image file, {@code null} if the image is held in memory.
+   */
   private final Path imagePath;
+  /**
+   * The encoded image held in memory, {@code null} if the image is a file or an {@link ImageReference}.
+   */
+  private final EncodedImage encodedImage;
+  private final ImageReference imageReference;
 
   // Options
   private int maxWidth = -1;
@@ -28,7 +51,56 @@ public class ImagePlaceholderData extends CustomWordPlaceholderData {
   private boolean deleteAfterInsertion;
 
   public ImagePlaceholderData(Path imagePath) {
+    this(imagePath, null, null);
+  }
+
+  /**
+   * Creates the placeholder data of an encoded image, e.g. a JPEG read from an object storage.
+   * The array must not be modified until the document has been generated.
+   *
+   * @param image the encoded image
+   */
+  public ImagePlaceholderData(byte[] image) {
+    this(null, () -> image, null);
+  }
+
+  /**
+   * Creates the placeholder data of an encoded image. The remaining bytes of the buffer are inserted, its position is
+   * not changed.
+   *
+   * @param image the encoded image
+   */
+  public ImagePlaceholderData(ByteBuffer image) {
+    this(null, () -> toArray(image), null);
+  }
+
+  /**
+   * Creates the placeholder data of an encoded image read from a stream, which is opened when the image is inserted.
+   *
+   * @param image opens the encoded image
+   */
+  public ImagePlaceholderData(ImageStreamSupplier image) {
+    this(null, () -> {
+      try (var in = image.open()) {
+        return in.readAllBytes();
+      }
+    }, null);
+  }
+
+  /**
+   * Creates the placeholder data of an image loaded by the {@link com.docutools.jocument.image.ImageStrategy} of the
+   * generation. The image is encoded when it is inserted, it is not closed.
+   *
+   * @param image the loaded image
+   */
+  public ImagePlaceholderData(ImageReference image) {
+    this(null, null, image);
+  }
+
+  private ImagePlaceholderData(Path imagePath, EncodedImage encodedImage, ImageReference imageReference) {
     this.imagePath = imagePath;
+    this.encodedImage = encodedImage;
+    this.imageReference = imageReference;
   }
 
   /**
@@ -68,60 +140,209 @@ public class ImagePlaceholderData extends CustomWordPlaceholderData {
 
   @Override
   protected void transform(IBodyElement placeholder, IBody part, Locale locale, GenerationOptions options) {
-    Path path = applyOptions(options);
+    GenerationContext.checkpoint();
     var paragraph = part.insertNewParagraph(WordUtilities.openCursor(placeholder).orElseThrow());
     if (placeholder instanceof XWPFParagraph placeholderParagraph) {
       paragraph.setAlignment(placeholderParagraph.getAlignment());
     }
+    WordUtilities.removeIfExists(placeholder);
+    var preprocessor = ImagePreprocessor.current();
+    if (preprocessor.isPresent()) {
+      // read once in the background, for the header and for decoding
+      var encoded = encodedImage != null ? new BufferedEncodedImage(encodedImage) : null;
+      // prepared images are held in memory, a discarded one does not have to be cleaned up
+      preprocessor.get().submit(() -> estimateDecodedBytes(encoded), () -> prepare(encoded, options),
+          image -> insert(paragraph, () -> image, options), image -> { });
+    } else {
+      insert(paragraph, () -> prepare(encodedImage, options), options);
+    }
+  }
+
+  private void insert(XWPFParagraph paragraph, Supplier<PreparedImage> preparation, GenerationOptions options) {
+    long start = GenerationContext.startTimer();
+    var event = new ImageInsertEvent();
+    event.begin();
+    PreparedImage image = null;
     try {
-      WordImageUtils.insertImage(paragraph, path, options.imageStrategy());
+      image = preparation.get();
+      if (image == null) {
+        throw new IllegalStateException("Image could not be prepared");
+      } else if (image.file() != null) {
+        WordImageUtils.insertImage(paragraph, image.file(), options.imageStrategy());
+      } else {
+        WordImageUtils.insertImage(paragraph, image.data(), imageName(), options.imageStrategy());
+      }
+    } catch (GenerationCancelledException e) {
+      throw e;
     } catch (Exception e) {
       logger.error("Could not insert image", e);
       WordUtilities.replaceText(paragraph, "-");
     } finally {
-      WordUtilities.removeIfExists(placeholder);
-
-      if (path != null && !path.equals(imagePath)) {
-        try {
-          Files.deleteIfExists(path);
-        } catch (IOException e) {
-          logger.warn(e);
-        }
-      }
-      if (deleteAfterInsertion) {
+      if (deleteAfterInsertion && imagePath != null) {
         try {
           Files.deleteIfExists(imagePath);
         } catch (IOException e) {
           logger.warn(e);
         }
       }
+      GenerationContext.record(GenerationPhase.IMAGE_INSERTION, start, 1, imageName());
+      event.end();
+      if (event.shouldCommit()) {
+        event.template = GenerationContext.currentTemplate();
+        event.image = imageName();
+        event.size = image != null && image.data() != null ? image.data().length : imagePath != null ? imagePath.toFile().length() : 0;
+        event.commit();
+      }
     }
   }
 
-  private Path applyOptions(GenerationOptions options) {
-    try (var image = options.imageStrategy().load(imagePath)) {
-      double scale = Math.max(image.getWidth() / (double) maxWidth, image.getHeight() / (double) maxHeight);
-      if (scale > 1.0) {
-        try (var resized = options.imageStrategy().scale(image, 1 / scale)) {
-          return saveImage(resized);
-        }
+  /**
+   * Scales the image if necessary, run on the generating thread or by an {@link ImagePreprocessor}.
+   *
+   * @return the image to insert, {@code null} if it couldn't be read
+   */
+  private PreparedImage prepare(EncodedImage encodedImage, GenerationOptions options) {
+    var cache = options.scaledImageCache();
+    if (imagePath != null) {
+      byte[] scaled = cache.isPresent()
+          ? cache.get().get(imagePath, maxWidth, maxHeight, options.imageStrategy(), () -> scaleImage(options))
+          : scaleImage(options);
+      // insert the file as it is if it couldn't be scaled
+      return scaled != null ? new PreparedImage(null, scaled) : new PreparedImage(imagePath, null);
+    }
+    try {
+      if (imageReference != null) {
+        return new PreparedImage(null, encodeScaled(imageReference, options));
       }
-      return saveImage(image);
+      byte[] data = encodedImage.read();
+      if (maxWidth <= 0 && maxHeight <= 0) {
+        return new PreparedImage(null, data);
+      }
+      byte[] scaled = cache.isPresent()
+          ? cache.get().get(data, maxWidth, maxHeight, options.imageStrategy(), () -> scaleEncoded(data, options))
+          : scaleEncoded(data, options);
+      return scaled != null ? new PreparedImage(null, scaled) : null;
+    } catch (IOException | NoWriterFoundException | IncompatibleImageReferenceException e) {
+      logger.error(e);
+      return null;
+    }
+  }
+
+  private long estimateDecodedBytes(EncodedImage encodedImage) {
+    if (imagePath != null) {
+      return ImagePreprocessor.estimateDecodedBytes(imagePath.toFile());
+    } else if (imageReference != null) {
+      return 4L * imageReference.getWidth() * imageReference.getHeight();
+    } else if (maxWidth <= 0 && maxHeight <= 0) {
+      return 0; // inserted as it is, without decoding
+    }
+    try {
+      return ImagePreprocessor.estimateDecodedBytes(encodedImage.read());
+    } catch (IOException e) {
+      logger.debug("Could not read image to estimate its size", e);
+      return -1;
+    }
+  }
+
+  private String imageName() {
+    return imagePath != null ? String.valueOf(imagePath.getFileName()) : IMAGE_NAME;
+  }
+
+  /**
+   * Scales the image file if necessary and encodes it.
+   *
+   * @return the encoded image, {@code null} if it couldn't be read
+   */
+  private byte[] scaleImage(GenerationOptions options) {
+    try (var image = options.imageStrategy().load(imagePath, maxWidth, maxHeight)) {
+      GenerationContext.checkpoint();
+      return encodeScaled(image, options);
     } catch (IOException | NoWriterFoundException | IncompatibleImageReferenceException e) {
       logger.error(e);
-      return imagePath;
+      return null;
+    }
+  }
+
+  /**
+   * Scales the encoded image if necessary.
+   *
+   * @return the encoded scaled image, the given data if it doesn't have to be scaled, {@code null} if it couldn't be read
+   */
+  private byte[] scaleEncoded(byte[] data, GenerationOptions options) {
+    try (var image = options.imageStrategy().load(data)) {
+      GenerationContext.checkpoint();
+      return scaleOf(image) > 1.0 ? encodeScaled(image, options) : data;
+    } catch (IOException | NoWriterFoundException | IncompatibleImageReferenceException e) {
+      logger.error(e);
+      return null;
+    }
+  }
+
+  private double scaleOf(ImageReference image) {
+    return Math.max(image.getWidth() / (double) maxWidth, image.getHeight() / (double) maxHeight);
+  }
+
+  private byte[] encodeScaled(ImageReference image, GenerationOptions options)
+      throws IncompatibleImageReferenceException, IOException, NoWriterFoundException {
+    double scale = scaleOf(image);
+    if (scale > 1.0) {
+      try (var resized = options.imageStrategy().scale(image, 1 / scale)) {
+        return encode(resized);
+      }
     }
+    return encode(image);
   }
 
-  private Path saveImage(ImageReference imageReference) throws IOException, NoWriterFoundException {
+  private static byte[] encode(ImageReference imageReference) throws IOException, NoWriterFoundException {
     try {
-      return imageReference.saveAsJpeg();
+      return imageReference.encodeAsJpeg();
     } catch (NoWriterFoundException e) {
       try {
-        return imageReference.saveAsPng();
+        return imageReference.encodeAsPng();
       } catch (NoWriterFoundException ex) {
         throw new NoWriterFoundException("JPG,PNG");
       }
     }
   }
+
+  private static byte[] toArray(ByteBuffer buffer) {
+    var view = buffer.duplicate();
+    if (view.hasArray() && view.arrayOffset() == 0 && view.position() == 0 && view.remaining() == view.array().length) {
+      return view.array();
+    }
+    var data = new byte[view.remaining()];
+    view.get(data);
+    return data;
+  }
+
+  @FunctionalInterface
+  private interface EncodedImage {
+    byte[] read() throws IOException;
+  }
+
+  /**
+   * Reads an encoded image once, e.g. a stream which can only be opened once, and keeps the data for further reads.
+   */
+  private static final class BufferedEncodedImage implements EncodedImage {
+    private final EncodedImage image;
+    private byte[] data;
+
+    private BufferedEncodedImage(EncodedImage image) {
+      this.image = image;
+    }
+
+    @Override
+    public synchronized byte[] read() throws IOException {
+      if (data == null) {
+        data = image.read();
+      }
+      return data;
+    }
+  }
+
+  /**
+   * An image ready to be inserted, either the image file itself or encoded data.
+   */
+  private record PreparedImage(Path file, byte[] data) {
+  }
 }
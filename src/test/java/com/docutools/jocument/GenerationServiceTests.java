@@ -0,0 +1,134 @@
+package com.docutools.jocument;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.docutools.jocument.impl.ReflectionResolver;
+import com.docutools.jocument.sample.model.SampleModelData;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Generation Service")
+@Tag("automated")
+class GenerationServiceTests {
+
+  @Test
+  @DisplayName("Generate all submitted documents.")
+  void shouldGenerateAllSubmittedDocuments() throws ExecutionException, InterruptedException, TimeoutException {
+    // Arrange
+    Template template = Template.fromClassPath("/templates/word/UserProfileTemplate.docx")
+        .orElseThrow();
+
+    try (GenerationService service = new GenerationServiceBuilder()
+        .withMaxConcurrency(2)
+        .build()) {
+      // Act
+      List<CompletableFuture<Document>> documents = IntStream.range(0, 6)
+          .mapToObj(i -> service.submit("tenant-" + i % 2, template, new ReflectionResolver(SampleModelData.PICARD_PERSON),
+              GenerationOptionsBuilder.buildDefaultOptions()))
+          .toList();
+      CompletableFuture.allOf(documents.toArray(CompletableFuture[]::new)).get(1, TimeUnit.MINUTES);
+
+      // Assert
+      for (CompletableFuture<Document> document : documents) {
+        assertThat(document.get().completed(), is(true));
+      }
+      assertThat(service.inFlight(), is(0));
+      assertThat(service.queueDepth(), is(0));
+    }
+  }
+
+  @Test
+  @DisplayName("Reject documents when the queue is full.")
+  void shouldRejectWhenQueueIsFull() throws ExecutionException, InterruptedException, TimeoutException {
+    // Arrange
+    Template template = Template.fromClassPath("/templates/word/UserProfileTemplate.docx")
+        .orElseThrow();
+    CountDownLatch latch = new CountDownLatch(1);
+
+    try (GenerationService service = new GenerationServiceBuilder()
+        .withMaxConcurrency(1)
+        .withQueueCapacity(1)
+        .withRejectionPolicy(GenerationService.RejectionPolicy.REJECT)
+        .build()) {
+      // Act
+      var first = service.submit(template, new BlockingResolver(latch), GenerationOptionsBuilder.buildDefaultOptions());
+      var second = service.submit(template, new BlockingResolver(latch), GenerationOptionsBuilder.buildDefaultOptions());
+
+      // Assert
+      assertThat(service.inFlight(), is(1));
+      assertThat(service.queueDepth(), is(1));
+      assertThrows(RejectedExecutionException.class,
+          () -> service.submit(template, new BlockingResolver(latch), GenerationOptionsBuilder.buildDefaultOptions()));
+
+      latch.countDown();
+      assertThat(first.get(1, TimeUnit.MINUTES).completed(), is(true));
+      assertThat(second.get(1, TimeUnit.MINUTES).completed(), is(true));
+    }
+  }
+
+  @Test
+  @DisplayName("Remove cancelled documents from the queue.")
+  void shouldRemoveCancelledDocumentsFromQueue() throws ExecutionException, InterruptedException, TimeoutException {
+    // Arrange
+    Template template = Template.fromClassPath("/templates/word/UserProfileTemplate.docx")
+        .orElseThrow();
+    CountDownLatch latch = new CountDownLatch(1);
+
+    try (GenerationService service = new GenerationServiceBuilder()
+        .withMaxConcurrency(1)
+        .withQueueCapacity(1)
+        .withRejectionPolicy(GenerationService.RejectionPolicy.REJECT)
+        .build()) {
+      var first = service.submit(template, new BlockingResolver(latch), GenerationOptionsBuilder.buildDefaultOptions());
+      var second = service.submit(template, new BlockingResolver(latch), GenerationOptionsBuilder.buildDefaultOptions());
+
+      // Act
+      second.cancel(false);
+      var third = service.submit(template, new BlockingResolver(latch), GenerationOptionsBuilder.buildDefaultOptions());
+
+      // Assert
+      assertThat(service.queueDepth(), is(1));
+      latch.countDown();
+      assertThat(first.get(1, TimeUnit.MINUTES).completed(), is(true));
+      assertThat(third.get(1, TimeUnit.MINUTES).completed(), is(true));
+      assertThat(service.inFlight(), is(0));
+      assertThat(service.queueDepth(), is(0));
+    }
+  }
+
+  private static class BlockingResolver extends PlaceholderResolver {
+    private final CountDownLatch latch;
+
+    private BlockingResolver(CountDownLatch latch) {
+      this.latch = latch;
+    }
+
+    @Override
+    protected Optional<PlaceholderData> doResolve(String placeholderName, Locale locale) {
+      try {
+        latch.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return Optional.empty();
+    }
+
+    @Override
+    public String toString() {
+      return "BlockingResolver";
+    }
+  }
+}
@@ -0,0 +1,204 @@
+package com.docutools.jocument;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.isA;
+import static org.hamcrest.Matchers.lessThan;
+
+import com.docutools.jocument.image.ImageFetcher;
+import com.docutools.jocument.image.ImageFetcherBuilder;
+import com.docutools.jocument.impl.JsonResolver;
+import com.docutools.jocument.impl.word.placeholders.ImagePlaceholderData;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("Image Fetcher")
+@Tag("automated")
+class ImageFetcherTests {
+
+  @TempDir
+  Path cacheDirectory;
+
+  @Test
+  @DisplayName("Download each image once.")
+  void shouldDownloadEachImageOnce() throws IOException, URISyntaxException {
+    // Arrange
+    URL url = ImageFetcherTests.class.getResource("/images/picardProfile.jpg");
+
+    try (ImageFetcher fetcher = new ImageFetcherBuilder()
+        .withCacheDirectory(cacheDirectory)
+        .build()) {
+      // Act
+      Path first = fetcher.get(url, Duration.ofMinutes(1)).orElseThrow();
+      Path second = fetcher.get(url, Duration.ofMinutes(1)).orElseThrow();
+
+      // Assert
+      assertThat(second, equalTo(first));
+      assertThat(first.getParent(), equalTo(cacheDirectory));
+      assertThat(Files.mismatch(first, Path.of(url.toURI())), is(-1L));
+      try (Stream<Path> files = Files.list(cacheDirectory)) {
+        assertThat(files.filter(Files::isRegularFile).count(), is(1L));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Evict the least recently used images.")
+  void shouldEvictLeastRecentlyUsedImages() throws IOException {
+    // Arrange
+    URL small = ImageFetcherTests.class.getResource("/images/picardProfile.jpg");
+    URL large = ImageFetcherTests.class.getResource("/images/picardProfileLarge.jpg");
+
+    try (ImageFetcher fetcher = new ImageFetcherBuilder()
+        .withCacheDirectory(cacheDirectory)
+        .withMaximumCacheBytes(1)
+        .withPinDuration(Duration.ZERO)
+        .build()) {
+      // Act
+      Path smallImage = fetcher.get(small).orElseThrow();
+      Path largeImage = fetcher.get(large).orElseThrow();
+
+      // Assert
+      assertThat(Files.exists(smallImage), is(false));
+      assertThat(Files.exists(largeImage), is(true));
+    }
+  }
+
+  @Test
+  @DisplayName("Keep images which have just been returned.")
+  void shouldKeepPinnedImages() {
+    // Arrange
+    URL small = ImageFetcherTests.class.getResource("/images/picardProfile.jpg");
+    URL large = ImageFetcherTests.class.getResource("/images/picardProfileLarge.jpg");
+
+    try (ImageFetcher fetcher = new ImageFetcherBuilder()
+        .withCacheDirectory(cacheDirectory)
+        .withMaximumCacheBytes(1)
+        .build()) {
+      // Act
+      Path smallImage = fetcher.get(small).orElseThrow();
+      Path largeImage = fetcher.get(large).orElseThrow();
+
+      // Assert
+      assertThat(Files.exists(smallImage), is(true));
+      assertThat(Files.exists(largeImage), is(true));
+    }
+  }
+
+  @Test
+  @DisplayName("Download changed images again.")
+  void shouldDownloadChangedImagesAgain() throws IOException {
+    // Arrange
+    Path source = Files.createTempFile("jocument-", ".jpg");
+    URL url = source.toUri().toURL();
+
+    try (ImageFetcher fetcher = new ImageFetcherBuilder()
+        .withCacheDirectory(cacheDirectory)
+        .withRevalidationInterval(Duration.ZERO)
+        .build()) {
+      Files.write(source, new byte[] {1, 2, 3});
+      Path first = fetcher.get(url).orElseThrow();
+
+      // Act
+      Files.write(source, new byte[] {4, 5, 6});
+      Path second = fetcher.get(url).orElseThrow();
+
+      // Assert
+      assertThat(Files.readAllBytes(first), equalTo(new byte[] {1, 2, 3}));
+      assertThat(Files.readAllBytes(second), equalTo(new byte[] {4, 5, 6}));
+    } finally {
+      Files.deleteIfExists(source);
+    }
+  }
+
+  @Test
+  @DisplayName("Abort downloads exceeding the fetch timeout.")
+  void shouldAbortDownloadsExceedingFetchTimeout() throws IOException {
+    // Arrange
+    HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/trickle.jpg", exchange -> {
+      exchange.sendResponseHeaders(200, 0);
+      try (OutputStream out = exchange.getResponseBody()) {
+        for (int i = 0; i < 100; i++) { // one byte every 100 ms, each read finishes within the read timeout
+          out.write(0);
+          out.flush();
+          Thread.sleep(100);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    server.start();
+    URL url = new URL("http://localhost:%d/trickle.jpg".formatted(server.getAddress().getPort()));
+
+    try (ImageFetcher fetcher = new ImageFetcherBuilder()
+        .withCacheDirectory(cacheDirectory)
+        .withFetchTimeout(Duration.ofMillis(500))
+        .build()) {
+      long start = System.nanoTime();
+
+      // Act
+      Optional<Path> image = fetcher.get(url, Duration.ofMinutes(1));
+
+      // Assert
+      assertThat(image.isPresent(), is(false));
+      assertThat(Duration.ofNanos(System.nanoTime() - start), lessThan(Duration.ofSeconds(5)));
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  @Test
+  @DisplayName("Delete the temporary cache directory on close.")
+  void shouldDeleteTemporaryCacheDirectoryOnClose() {
+    // Arrange
+    URL url = ImageFetcherTests.class.getResource("/images/picardProfile.jpg");
+    ImageFetcher fetcher = new ImageFetcherBuilder().build();
+    Path image = fetcher.get(url).orElseThrow();
+
+    // Act
+    fetcher.close();
+
+    // Assert
+    assertThat(Files.exists(image.getParent()), is(false));
+  }
+
+  @Test
+  @DisplayName("Resolve JSON images through the fetcher.")
+  void shouldResolveJsonImagesThroughFetcher() {
+    // Arrange
+    URL url = ImageFetcherTests.class.getResource("/images/picardProfile.jpg");
+    String json = "{\"pictures\": [{\"picture\": \"%s\"}, {\"picture\": \"%s\"}]}".formatted(url, url);
+
+    try (ImageFetcher fetcher = new ImageFetcherBuilder()
+        .withCacheDirectory(cacheDirectory)
+        .build()) {
+      PlaceholderResolver resolver = new JsonResolver(json, fetcher);
+
+      // Act
+      List<PlaceholderData> pictures = resolver.resolve("pictures").orElseThrow().stream()
+          .map(item -> item.resolve("picture").orElseThrow())
+          .toList();
+
+      // Assert
+      assertThat(pictures.get(0), isA(ImagePlaceholderData.class));
+      assertThat(pictures.get(1), isA(ImagePlaceholderData.class));
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package com.docutools.jocument;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+import com.docutools.jocument.image.DefaultImageReference;
+import com.docutools.jocument.image.DefaultImageStrategy;
+import com.docutools.jocument.image.IncompatibleImageReferenceException;
+import com.docutools.jocument.image.ScalingMode;
+import com.docutools.jocument.impl.word.ImagePreprocessor;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+@DisplayName("Image Scaling")
+@Tag("automated")
+class ImageScalingTests {
+
+  @ParameterizedTest
+  @EnumSource(ScalingMode.class)
+  @DisplayName("Scale a decoded JPEG to the target size.")
+  void shouldScaleToTargetSize(ScalingMode scalingMode) throws IncompatibleImageReferenceException {
+    // Arrange
+    var source = new BufferedImage(400, 300, BufferedImage.TYPE_3BYTE_BGR);
+    var graphics = source.createGraphics();
+    graphics.setColor(Color.RED);
+    graphics.fillRect(0, 0, 400, 300);
+    graphics.dispose();
+    var strategy = DefaultImageStrategy.instance(scalingMode);
+
+    // Act
+    try (var scaled = (DefaultImageReference) strategy.scale(new DefaultImageReference(source), 0.15)) {
+
+      // Assert
+      assertThat(scaled.getWidth(), is(60));
+      assertThat(scaled.getHeight(), is(45));
+      assertThat(scaled.getImage().getType(), is(BufferedImage.TYPE_INT_RGB));
+      assertThat(scaled.getImage().getRGB(30, 22), equalTo(Color.RED.getRGB()));
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(ScalingMode.class)
+  @DisplayName("Load images no smaller than the bounds they are scaled to.")
+  void shouldLoadImagesNoSmallerThanBounds(ScalingMode scalingMode)
+      throws URISyntaxException, IOException, IncompatibleImageReferenceException {
+    // Arrange
+    var path = Path.of(ImageScalingTests.class.getResource("/images/picardProfileLarge.jpg").toURI());
+    var strategy = DefaultImageStrategy.instance(scalingMode);
+
+    // Act
+    try (var image = strategy.load(path, 100, 100)) {
+
+      // Assert
+      assertThat(Math.max(image.getWidth(), image.getHeight()), greaterThanOrEqualTo(100));
+    }
+  }
+
+  @Test
+  @DisplayName("Estimate the decoded size of an image held in memory from its header.")
+  void shouldEstimateDecodedSizeOfImageData() throws URISyntaxException, IOException {
+    // Arrange
+    var path = Path.of(ImageScalingTests.class.getResource("/images/picardProfileLarge.jpg").toURI());
+    var decoded = ImageIO.read(path.toFile());
+
+    // Act
+    long estimate = ImagePreprocessor.estimateDecodedBytes(Files.readAllBytes(path));
+
+    // Assert
+    assertThat(estimate, is(4L * decoded.getWidth() * decoded.getHeight()));
+  }
+}
@@ -9,6 +9,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.docutools.jocument.impl.JsonResolver;
+import com.docutools.jocument.impl.StreamingJsonResolver;
 import com.docutools.jocument.impl.word.placeholders.ImagePlaceholderData;
 import com.docutools.jocument.sample.model.SampleModelData;
 import com.docutools.jocument.sample.model.Uniform;
@@ -67,6 +68,71 @@ public class JsonResolving {
     assertThat(name, equalTo("Riker"));
   }
 
+  @Test
+  @DisplayName("Resolve dotted placeholder names.")
+  void shouldResolveDottedPath() {
+    // Act
+    String name = resolver.resolve("officer.name")
+        .map(PlaceholderData::toString)
+        .orElseThrow();
+    // Assert
+    assertThat(name, equalTo("Riker"));
+  }
+
+  @Test
+  @DisplayName("Resolve placeholders of the parent in collection items.")
+  void shouldResolveParentPlaceholdersInItems() {
+    // Act
+    List<String> captains = resolver.resolve("services")
+        .map(data -> data.stream()
+            .map(r -> r.resolve("name")
+                .map(PlaceholderData::toString)
+                .orElseThrow())
+            .collect(Collectors.toList()))
+        .orElseThrow();
+    String parentName = resolver.resolve("officer")
+        .flatMap(r -> r.stream().findFirst())
+        .flatMap(officer -> officer.resolve("@.name"))
+        .map(PlaceholderData::toString)
+        .orElseThrow();
+    // Assert
+    assertThat(captains, contains("Jean-Luc Picard", "Jean-Luc Picard"));
+    assertThat(parentName, equalTo("Jean-Luc Picard"));
+  }
+
+  @Test
+  @DisplayName("Resolve placeholders from a streamed JSON.")
+  void shouldResolveStreamedJson() throws IOException {
+    // Arrange
+    PlaceholderResolver streamingResolver = new StreamingJsonResolver(TestUtils.getText("json/picard.json"));
+
+    // Act
+    String name = streamingResolver.resolve("name")
+        .map(PlaceholderData::toString)
+        .orElseThrow();
+    String officerName = streamingResolver.resolve("officer.name")
+        .map(PlaceholderData::toString)
+        .orElseThrow();
+    PlaceholderData services = streamingResolver.resolve("services").orElseThrow();
+    List<String> shipNames = services.stream()
+        .map(r -> r.resolve("shipName")
+            .map(PlaceholderData::toString)
+            .orElseThrow())
+        .collect(Collectors.toList());
+    List<String> captains = services.stream()
+        .map(r -> r.resolve("name")
+            .map(PlaceholderData::toString)
+            .orElseThrow())
+        .collect(Collectors.toList());
+
+    // Assert
+    assertThat(name, equalTo(SampleModelData.PICARD.getName()));
+    assertThat(officerName, equalTo("Riker"));
+    assertThat(services.count(), is(2L));
+    assertThat(shipNames, contains("USS Enterprise", "US Defiant"));
+    assertThat(captains, contains("Jean-Luc Picard", "Jean-Luc Picard"));
+  }
+
   @Test
   @DisplayName("Return empty when placeholder is not defined.")
   void shouldReturnEmptyWhenPlaceholderUndefined() {
@@ -102,6 +168,21 @@ public class JsonResolving {
     assertThat(data.get(), isA(ImagePlaceholderData.class));
   }
 
+  @Test
+  @DisplayName("Resolve image file names which are no URLs as text")
+  void shouldResolveImageFileNamesAsText() {
+    // Arrange
+    PlaceholderResolver fileNameResolver = new JsonResolver("{\"attachment\": \"photo of picard.png\", \"file\": \"picard.png\"}");
+
+    // Act
+    var attachment = fileNameResolver.resolve("attachment").map(PlaceholderData::toString);
+    var file = fileNameResolver.resolve("file").map(PlaceholderData::toString);
+
+    // Assert
+    assertThat(attachment.orElseThrow(), equalTo("photo of picard.png"));
+    assertThat(file.orElseThrow(), equalTo("picard.png"));
+  }
+
   @Test
   @DisplayName("Throw error when parsing invalid JSON")
   void shouldThrowErrorWhenParsingInvalidJson() throws IOException {
@@ -0,0 +1,101 @@
+package com.docutools.jocument;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import com.docutools.jocument.impl.MapResolver;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Resolve placeholders from a map.")
+@Tag("automated")
+class MapResolving {
+
+  private PlaceholderResolver resolver;
+
+  @BeforeEach
+  void setup() {
+    resolver = new MapResolver(Map.of(
+        "name", "Jean-Luc Picard",
+        "rank", 4,
+        "budget", new BigDecimal("1234.5"),
+        "officer", Map.of("name", "Riker"),
+        "services", List.of(
+            Map.of("shipName", "USS Enterprise"),
+            Map.of("shipName", "US Defiant")),
+        "awards", new String[] {"Star Cross", "Medal of Honor"},
+        "retired", false));
+  }
+
+  @Test
+  @DisplayName("Resolve values and dotted placeholder names.")
+  void shouldResolveValues() {
+    // Act
+    String name = resolver.resolve("name", Locale.US)
+        .map(PlaceholderData::toString)
+        .orElseThrow();
+    String officerName = resolver.resolve("officer.name", Locale.US)
+        .map(PlaceholderData::toString)
+        .orElseThrow();
+    String budget = resolver.resolve("budget", Locale.GERMANY)
+        .map(PlaceholderData::toString)
+        .orElseThrow();
+
+    // Assert
+    assertThat(name, equalTo("Jean-Luc Picard"));
+    assertThat(officerName, equalTo("Riker"));
+    assertThat(budget, equalTo("1.234,5"));
+    assertThat(resolver.resolve("crew", Locale.US).isPresent(), is(false));
+  }
+
+  @Test
+  @DisplayName("Resolve lists, arrays and parent placeholders in items.")
+  void shouldResolveLoops() {
+    // Act
+    PlaceholderData services = resolver.resolve("services").orElseThrow();
+    List<String> shipNames = services.stream()
+        .map(r -> r.resolve("shipName")
+            .map(PlaceholderData::toString)
+            .orElseThrow())
+        .collect(Collectors.toList());
+    List<String> captains = services.stream()
+        .map(r -> r.resolve("@.name")
+            .map(PlaceholderData::toString)
+            .orElseThrow())
+        .collect(Collectors.toList());
+    List<String> awards = resolver.resolve("awards").orElseThrow().stream()
+        .map(r -> r.resolve("this")
+            .map(PlaceholderData::toString)
+            .orElseThrow())
+        .collect(Collectors.toList());
+
+    // Assert
+    assertThat(services.count(), is(2L));
+    assertThat(shipNames, contains("USS Enterprise", "US Defiant"));
+    assertThat(captains, contains("Jean-Luc Picard", "Jean-Luc Picard"));
+    assertThat(awards, contains("Star Cross", "Medal of Honor"));
+  }
+
+  @Test
+  @DisplayName("Evaluate conditions.")
+  void shouldEvaluateConditions() {
+    // Act
+    long active = resolver.resolve("rank?").orElseThrow().count();
+    long retired = resolver.resolve("retired?").orElseThrow().count();
+    long missing = resolver.resolve("crew?").orElseThrow().count();
+
+    // Assert
+    assertThat(active, is(1L));
+    assertThat(retired, is(0L));
+    assertThat(missing, is(0L));
+  }
+}
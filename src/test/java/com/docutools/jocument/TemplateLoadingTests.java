@@ -1,5 +1,6 @@
 package com.docutools.jocument;
 
+import java.util.Locale;
 import java.util.Optional;
 import org.apache.poi.util.LocaleUtil;
 import org.junit.jupiter.api.DisplayName;
@@ -62,6 +63,54 @@ class TemplateLoadingTests {
         }
     }
 
+    @Test
+    @DisplayName("Reload cached templates when the file changed.")
+    void shouldReloadCachedTemplateWhenFileChanged() throws IOException {
+        // Arrange
+        Path path = Files.createTempFile("jocument-", ".docx");
+        try (var cache = TemplateCache.revalidating(1024 * 1024)) {
+            Files.write(path, new byte[] {1, 2, 3});
+            TemplateSource source = cache.source(path);
+            try (var in = source.open()) {
+                assertThat(in.readAllBytes(), equalTo(new byte[] {1, 2, 3}));
+            }
+
+            // Act
+            Files.write(path, new byte[] {4, 5, 6, 7});
+
+            // Assert
+            try (var in = source.open()) {
+                assertThat(in.readAllBytes(), equalTo(new byte[] {4, 5, 6, 7}));
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    @DisplayName("Reload a cached file URL template when the file changed.")
+    void shouldReloadCachedFileUrlTemplateWhenFileChanged() throws IOException {
+        // Arrange
+        Path path = Files.createTempFile("jocument-", ".docx");
+        try (var cache = TemplateCache.revalidating(1024 * 1024)) {
+            Files.write(path, new byte[] {1, 2, 3});
+            TemplateSource source = cache.source(path.toUri().toURL());
+            try (var in = source.open()) {
+                assertThat(in.readAllBytes(), equalTo(new byte[] {1, 2, 3}));
+            }
+
+            // Act
+            Files.write(path, new byte[] {4, 5, 6, 7});
+
+            // Assert
+            try (var in = source.open()) {
+                assertThat(in.readAllBytes(), equalTo(new byte[] {4, 5, 6, 7}));
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
     @Test
     @DisplayName("Template should assume systems default Locale, if none is passed with resource.")
     void shouldAssumeDefaultLocale() {
@@ -103,4 +152,35 @@ class TemplateLoadingTests {
             assertThat(template.isPresent(), is(true));
         }
     }
+
+    @Test
+    @DisplayName("Load Template from a memory mapped file")
+    void shouldLoadMappedTemplate() throws IOException {
+        // Arrange
+        Path path = Files.createTempFile("jocument-", ".docx");
+        try {
+            byte[] data;
+            try (var in = getClass().getResourceAsStream("/templates/word/UserProfileTemplate.docx")) {
+                data = in.readAllBytes();
+            }
+            Files.write(path, data);
+
+            // Act
+            Template template = Template.fromMapped(path, Locale.US).orElseThrow();
+
+            // Assert
+            assertThat(template.getMimeType(), is(MimeType.DOCX));
+            for (int i = 0; i < 2; i++) {
+                try (var in = template.openStream()) {
+                    assertThat(in.readAllBytes(), equalTo(data));
+                }
+            }
+        } finally {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ignored) {
+                // the mapping might still be open on some platforms
+            }
+        }
+    }
 }
@@ -6,16 +6,21 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.startsWith;
 
 import com.docutools.jocument.CustomPlaceholderRegistry;
 import com.docutools.jocument.Document;
+import com.docutools.jocument.GenerationExecutors;
 import com.docutools.jocument.GenerationOptions;
 import com.docutools.jocument.GenerationOptionsBuilder;
 import com.docutools.jocument.MimeType;
+import com.docutools.jocument.OutputTarget;
+import com.docutools.jocument.PlaceholderData;
 import com.docutools.jocument.PlaceholderResolver;
 import com.docutools.jocument.Template;
 import com.docutools.jocument.TestUtils;
+import com.docutools.jocument.impl.ColumnarPlaceholderData;
 import com.docutools.jocument.impl.CustomPlaceholderRegistryImpl;
 import com.docutools.jocument.impl.ReflectionResolver;
 import com.docutools.jocument.sample.model.Captain;
@@ -27,15 +32,26 @@ import com.docutools.jocument.sample.placeholders.QuotesBlockPlaceholder;
 import com.docutools.poipath.PoiPath;
 import com.docutools.poipath.xssf.RowWrapper;
 import com.docutools.poipath.xssf.XSSFWorkbookWrapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.xssf.usermodel.XSSFCellStyle;
 import org.apache.poi.xssf.usermodel.XSSFFont;
@@ -45,6 +61,8 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 
 @DisplayName("Excel Generator Tests")
@@ -670,4 +688,305 @@ class ExcelGeneratorTest {
         assertThat(font.getBold(), equalTo(true));
         assertThat(font.getFontHeightInPoints(), is((short)14));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Generate sheets concurrently.")
+    void generatesSheetsConcurrently() throws InterruptedException, IOException {
+        // Arrange
+        Template template = Template.from(createLoopWorkbook(4), MimeType.XLSX)
+            .orElseThrow();
+        PlaceholderResolver resolver = new ReflectionResolver(SampleModelData.PICARD);
+        GenerationOptions options = new GenerationOptionsBuilder()
+            .withParallelSheetGeneration(4)
+            .build();
+
+        // Act
+        Document document = template.startGeneration(resolver, options);
+        document.blockUntilCompletion(60000L); // 1 minute
+
+        // Assert
+        assertThat(document.completed(), is(true));
+        workbook = TestUtils.getXSSFWorkbookFromDocument(document);
+        var xssf = PoiPath.xssf(workbook);
+        for (int i = 0; i < 4; i++) {
+            var sheet = xssf.sheet(i);
+            assertThat(sheet.row(0).cell(0).stringValue(), equalTo("Jean-Luc Picard"));
+            assertThat(sheet.row(1).cell(0).stringValue(), equalTo("USS Enterprise"));
+            assertThat(sheet.row(2).cell(0).stringValue(), equalTo("US Defiant"));
+            assertThat(sheet.row(3).cell(0).cell().getNumericCellValue(), closeTo(4.0, 0.001));
+        }
+    }
+
+    @Test
+    @DisplayName("Generate sheets and loop items on a shared single thread executor.")
+    void generatesOnSharedExecutor() throws Exception {
+        // Arrange
+        Template template = Template.from(createLoopWorkbook(4), MimeType.XLSX)
+            .orElseThrow();
+        PlaceholderResolver resolver = new ReflectionResolver(SampleModelData.PICARD);
+        ExecutorService executor = GenerationExecutors.platformThreads(1);
+        GenerationOptions options = new GenerationOptionsBuilder()
+            .withParallelSheetGeneration(4)
+            .withParallelLoopResolution(4)
+            .withExecutor(executor)
+            .build();
+
+        try {
+            // Act
+            Document document = template.generate(resolver, options, executor)
+                .get(1, TimeUnit.MINUTES);
+
+            // Assert
+            assertThat(document.completed(), is(true));
+            workbook = TestUtils.getXSSFWorkbookFromDocument(document);
+            var xssf = PoiPath.xssf(workbook);
+            for (int i = 0; i < 4; i++) {
+                var sheet = xssf.sheet(i);
+                assertThat(sheet.row(0).cell(0).stringValue(), equalTo("Jean-Luc Picard"));
+                assertThat(sheet.row(1).cell(0).stringValue(), equalTo("USS Enterprise"));
+                assertThat(sheet.row(2).cell(0).stringValue(), equalTo("US Defiant"));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Reuse the template styles for generated rows.")
+    void reusesTemplateStyles() throws InterruptedException, IOException {
+        // Arrange
+        byte[] templateWorkbook = createStyledLoopWorkbook(1, false);
+        int templateStyles;
+        try (var templateXssf = new XSSFWorkbook(new ByteArrayInputStream(templateWorkbook))) {
+            templateStyles = templateXssf.getNumCellStyles();
+        }
+        Template template = Template.from(templateWorkbook, MimeType.XLSX)
+            .orElseThrow();
+        List<Ship> ships = IntStream.range(0, 500)
+            .mapToObj(i -> new Ship("USS Ship " + i))
+            .toList();
+        PlaceholderResolver resolver = new ReflectionResolver(new Fleet("Jean-Luc Picard", ships, 4));
+
+        // Act
+        Document document = template.startGeneration(resolver);
+        document.blockUntilCompletion(60000L); // 1 minute
+
+        // Assert
+        assertThat(document.completed(), is(true));
+        workbook = TestUtils.getXSSFWorkbookFromDocument(document);
+        var sheet = PoiPath.xssf(workbook).sheet(0);
+        assertThat(sheet.row(500).cell(0).stringValue(), equalTo("USS Ship 499"));
+        assertThat(workbook.getNumCellStyles(), equalTo(templateStyles));
+    }
+
+    @ParameterizedTest(name = "cross-sheet formula: {0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Generate styled sheets concurrently like sequentially.")
+    void generatesStyledSheetsConcurrentlyLikeSequentially(boolean crossSheetFormula) throws InterruptedException, IOException {
+        // Arrange
+        byte[] templateWorkbook = createStyledLoopWorkbook(12, crossSheetFormula);
+        GenerationOptions concurrentOptions = new GenerationOptionsBuilder()
+            .withParallelSheetGeneration(6)
+            .build();
+
+        // Act
+        List<String> sequential = describe(generate(templateWorkbook, GenerationOptionsBuilder.buildDefaultOptions()));
+        List<String> concurrent = describe(generate(templateWorkbook, concurrentOptions));
+
+        // Assert
+        assertThat(concurrent, equalTo(sequential));
+    }
+
+    @Test
+    @DisplayName("Write the document straight to a stream.")
+    void writesToStream() throws InterruptedException, IOException {
+        // Arrange
+        Template template = Template.from(createLoopWorkbook(1), MimeType.XLSX)
+            .orElseThrow();
+        PlaceholderResolver resolver = new ReflectionResolver(SampleModelData.PICARD);
+        var out = new ByteArrayOutputStream();
+
+        // Act
+        Document document = template.startGeneration(resolver, GenerationOptionsBuilder.buildDefaultOptions(), OutputTarget.toStream(out));
+        document.blockUntilCompletion(60000L); // 1 minute
+
+        // Assert
+        assertThat(document.completed(), is(true));
+        assertThat(document.getPath(), nullValue());
+        workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()));
+        var sheet = PoiPath.xssf(workbook).sheet(0);
+        assertThat(sheet.row(0).cell(0).stringValue(), equalTo("Jean-Luc Picard"));
+        assertThat(sheet.row(1).cell(0).stringValue(), equalTo("USS Enterprise"));
+    }
+
+    @Test
+    @DisplayName("Write loops over columnar data.")
+    void writesColumnarLoop() throws InterruptedException, IOException {
+        // Arrange
+        Template template = Template.from(createColumnarWorkbook(), MimeType.XLSX)
+            .orElseThrow();
+        PlaceholderData entries = new ColumnarPlaceholderData(3)
+            .withColumn("label", new String[] {"Warp core", "Phaser", null})
+            .withColumn("amount", new double[] {1.5, 2.25, 3.0})
+            .withColumn("count", new long[] {1L, 2L, 3L});
+        PlaceholderResolver resolver = new ReflectionResolver(new Ledger("Inventory", entries));
+
+        // Act
+        Document document = template.startGeneration(resolver);
+        document.blockUntilCompletion(60000L); // 1 minute
+
+        // Assert
+        assertThat(document.completed(), is(true));
+        workbook = TestUtils.getXSSFWorkbookFromDocument(document);
+        var sheet = PoiPath.xssf(workbook).sheet(0);
+        assertThat(sheet.row(0).cell(0).stringValue(), equalTo("Inventory"));
+        assertThat(sheet.row(1).cell(0).stringValue(), equalTo("Warp core"));
+        assertThat(sheet.row(1).cell(1).cell().getCellType(), equalTo(CellType.NUMERIC));
+        assertThat(sheet.row(1).cell(1).cell().getNumericCellValue(), closeTo(1.5, 0.001));
+        assertThat(sheet.row(2).cell(2).cell().getNumericCellValue(), closeTo(2.0, 0.001));
+        assertThat(sheet.row(2).cell(3).stringValue(), equalTo("Phaser: 2"));
+        assertThat(sheet.row(3).cell(0).stringValue(), equalTo(""));
+        assertThat(sheet.row(3).cell(1).cell().getNumericCellValue(), closeTo(3.0, 0.001));
+        assertThat(sheet.row(4).cell(0).stringValue(), equalTo("Inventory"));
+    }
+
+    @Test
+    @DisplayName("Resolve loop items concurrently and write them in order.")
+    void resolvesLoopItemsConcurrently() throws InterruptedException, IOException {
+        // Arrange
+        Template template = Template.from(createColumnarWorkbook(), MimeType.XLSX)
+            .orElseThrow();
+        List<Entry> entries = IntStream.range(0, 100)
+            .mapToObj(i -> new Entry("Item " + i, i * 0.5, i))
+            .toList();
+        PlaceholderResolver resolver = new ReflectionResolver(new Roster("Inventory", entries));
+        GenerationOptions options = new GenerationOptionsBuilder()
+            .withParallelLoopResolution(4)
+            .build();
+
+        // Act
+        Document document = template.startGeneration(resolver, options);
+        document.blockUntilCompletion(60000L); // 1 minute
+
+        // Assert
+        assertThat(document.completed(), is(true));
+        workbook = TestUtils.getXSSFWorkbookFromDocument(document);
+        var sheet = PoiPath.xssf(workbook).sheet(0);
+        assertThat(sheet.row(0).cell(0).stringValue(), equalTo("Inventory"));
+        for (int i = 0; i < 100; i++) {
+            assertThat(sheet.row(i + 1).cell(0).stringValue(), equalTo("Item " + i));
+            assertThat(sheet.row(i + 1).cell(1).cell().getNumericCellValue(), closeTo(i * 0.5, 0.001));
+            assertThat(sheet.row(i + 1).cell(3).stringValue(), equalTo("Item %d: %d".formatted(i, i)));
+        }
+        assertThat(sheet.row(101).cell(0).stringValue(), equalTo("Inventory"));
+    }
+
+    private static byte[] createColumnarWorkbook() throws IOException {
+        try (var templateWorkbook = new XSSFWorkbook(); var out = new ByteArrayOutputStream()) {
+            var sheet = templateWorkbook.createSheet();
+            sheet.createRow(0).createCell(0).setCellValue("{{title}}");
+            sheet.createRow(1).createCell(0).setCellValue("{{entries}}");
+            var body = sheet.createRow(2);
+            body.createCell(0).setCellValue("{{label}}");
+            body.createCell(1).setCellValue("{{amount}}");
+            body.createCell(2).setCellValue("{{count}}");
+            body.createCell(3).setCellValue("{{label}}: {{count}}");
+            sheet.createRow(3).createCell(0).setCellValue("{{/entries}}");
+            sheet.createRow(4).createCell(0).setCellValue("{{title}}");
+            templateWorkbook.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    public record Fleet(String name, List<Ship> services, int rank) {
+    }
+
+    public record Ship(String shipName) {
+    }
+
+    public record Ledger(String title, PlaceholderData entries) {
+    }
+
+    public record Roster(String title, List<Entry> entries) {
+    }
+
+    public record Entry(String label, double amount, long count) {
+    }
+
+    private static byte[] createStyledLoopWorkbook(int sheets, boolean crossSheetFormula) throws IOException {
+        try (var templateWorkbook = new XSSFWorkbook(); var out = new ByteArrayOutputStream()) {
+            for (int i = 0; i < sheets; i++) {
+                var sheet = templateWorkbook.createSheet("Sheet " + i);
+                var style = templateWorkbook.createCellStyle();
+                var font = templateWorkbook.createFont();
+                font.setBold(i % 2 == 0);
+                font.setFontHeightInPoints((short) (10 + i));
+                style.setFont(font);
+                style.setFillForegroundColor((short) (IndexedColors.AQUA.getIndex() + i % 8));
+                style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+                sheet.createRow(0).createCell(0).setCellValue("{{name}}");
+                sheet.createRow(1).createCell(0).setCellValue("{{services}}");
+                var body = sheet.createRow(2);
+                body.createCell(0).setCellValue("{{shipName}}");
+                body.getCell(0).setCellStyle(style);
+                body.createCell(1).setCellValue("Sheet " + i);
+                body.getCell(1).setCellStyle(style);
+                body.setRowStyle(style);
+                sheet.createRow(3).createCell(0).setCellValue("{{/services}}");
+                var rank = sheet.createRow(4).createCell(0);
+                rank.setCellValue("{{rank}}");
+                rank.setCellStyle(style);
+                sheet.createRow(5).createCell(0).setCellFormula("A5*2");
+                sheet.setDefaultColumnStyle(1, style);
+            }
+            if (crossSheetFormula) {
+                templateWorkbook.getSheetAt(sheets - 1).getRow(5).createCell(1).setCellFormula("'Sheet 0'!A5+1");
+            }
+            templateWorkbook.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static XSSFWorkbook generate(byte[] templateWorkbook, GenerationOptions options) throws InterruptedException, IOException {
+        Template template = Template.from(templateWorkbook, MimeType.XLSX)
+            .orElseThrow();
+        Document document = template.startGeneration(new ReflectionResolver(SampleModelData.PICARD), options);
+        document.blockUntilCompletion(60000L); // 1 minute
+        assertThat(document.completed(), is(true));
+        return TestUtils.getXSSFWorkbookFromDocument(document);
+    }
+
+    private static List<String> describe(XSSFWorkbook generatedWorkbook) throws IOException {
+        try (generatedWorkbook) {
+            List<String> cells = new ArrayList<>();
+            for (Sheet sheet : generatedWorkbook) {
+                for (Row row : sheet) {
+                    String rowStyle = row.isFormatted() ? String.valueOf(row.getRowStyle().getIndex()) : "-";
+                    for (Cell cell : row) {
+                        String value = cell.getCellType() == CellType.FORMULA ? "=" + cell.getCellFormula() : cell.toString();
+                        cells.add("%s!%d:%d %s style %d row style %s".formatted(sheet.getSheetName(), row.getRowNum(), cell.getColumnIndex(),
+                            value, cell.getCellStyle().getIndex(), rowStyle));
+                    }
+                }
+                cells.add("%s column style %s".formatted(sheet.getSheetName(), sheet.getColumnStyle(1).getIndex()));
+            }
+            cells.add("styles " + generatedWorkbook.getNumCellStyles());
+            return cells;
+        }
+    }
+
+    private static byte[] createLoopWorkbook(int sheets) throws IOException {
+        try (var templateWorkbook = new XSSFWorkbook(); var out = new ByteArrayOutputStream()) {
+            for (int i = 0; i < sheets; i++) {
+                var sheet = templateWorkbook.createSheet("Sheet " + i);
+                sheet.createRow(0).createCell(0).setCellValue("{{name}}");
+                sheet.createRow(1).createCell(0).setCellValue("{{services}}");
+                sheet.createRow(2).createCell(0).setCellValue("{{shipName}}");
+                sheet.createRow(3).createCell(0).setCellValue("{{/services}}");
+                sheet.createRow(4).createCell(0).setCellValue("{{rank}}");
+            }
+            templateWorkbook.write(out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -2,33 +2,67 @@ package com.docutools.jocument.impl.word;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.docutools.jocument.CustomPlaceholderRegistry;
 import com.docutools.jocument.Document;
+import com.docutools.jocument.GenerationEvent;
+import com.docutools.jocument.GenerationExecutors;
 import com.docutools.jocument.GenerationOptions;
 import com.docutools.jocument.GenerationOptionsBuilder;
+import com.docutools.jocument.GenerationPhase;
+import com.docutools.jocument.PlaceholderData;
 import com.docutools.jocument.PlaceholderResolver;
 import com.docutools.jocument.Template;
 import com.docutools.jocument.TestUtils;
+import com.docutools.jocument.image.ScaledImageCache;
 import com.docutools.jocument.impl.CustomPlaceholderRegistryImpl;
 import com.docutools.jocument.impl.ReflectionResolver;
 import com.docutools.jocument.sample.model.SampleModelData;
+import com.docutools.jocument.sample.model.StoredCaptain;
 import com.docutools.jocument.sample.placeholders.QuotePlaceholder;
 import com.docutools.jocument.sample.placeholders.TextPlaceholder;
 import com.docutools.poipath.xwpf.RunWrapper;
 import com.docutools.poipath.xwpf.XWPFDocumentWrapper;
 import java.awt.Desktop;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.apache.poi.xwpf.usermodel.BodyElementType;
 import org.apache.poi.xwpf.usermodel.XWPFDocument;
 import org.apache.poi.xwpf.usermodel.XWPFRun;
@@ -77,6 +111,207 @@ class WordGeneratorTest {
             + ")"));
     }
 
+    @Test
+    @DisplayName("Generate documents on an executor.")
+    void shouldGenerateDocumentsOnExecutor() throws ExecutionException, InterruptedException, IOException, TimeoutException {
+        // Arrange
+        Template template = Template.fromClassPath("/templates/word/UserProfileTemplate.docx")
+            .orElseThrow();
+        ExecutorService executor = GenerationExecutors.virtualThreadsOrPlatformThreads(2);
+
+        try {
+            // Act
+            List<CompletableFuture<Document>> documents = IntStream.range(0, 4)
+                .mapToObj(i -> template.generate(new ReflectionResolver(SampleModelData.PICARD_PERSON), executor))
+                .toList();
+            CompletableFuture.allOf(documents.toArray(CompletableFuture[]::new)).get(1, TimeUnit.MINUTES);
+
+            // Assert
+            for (CompletableFuture<Document> future : documents) {
+                Document document = future.get();
+                assertThat(document.completed(), is(true));
+                try (var generated = TestUtils.getXWPFDocumentFromDocument(document)) {
+                    var documentWrapper = new XWPFDocumentWrapper(generated);
+                    assertThat(documentWrapper.bodyElement(0).asParagraph().text(), equalTo("User Profile: Jean-Luc Picard"));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Fail the generation if a placeholder can not be resolved.")
+    void shouldFailGenerationIfResolverThrows() {
+        // Arrange
+        Template template = Template.fromClassPath("/templates/word/UserProfileTemplate.docx")
+            .orElseThrow();
+        PlaceholderResolver resolver = new PlaceholderResolver() {
+            @Override
+            protected Optional<PlaceholderData> doResolve(String placeholderName, Locale locale) {
+                throw new IllegalArgumentException("Can not resolve " + placeholderName);
+            }
+
+            @Override
+            public String toString() {
+                return "FailingResolver";
+            }
+        };
+        ExecutorService executor = GenerationExecutors.virtualThreadsOrPlatformThreads(1);
+
+        try {
+            // Act
+            CompletableFuture<Document> document = template.generate(resolver, executor);
+
+            // Assert
+            var exception = assertThrows(ExecutionException.class, () -> document.get(1, TimeUnit.MINUTES));
+            assertThat(exception.getCause(), instanceOf(IllegalArgumentException.class));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Report the generation phases to listeners.")
+    void shouldReportGenerationPhasesToListeners() throws InterruptedException {
+        // Arrange
+        Template template = Template.fromClassPath("/templates/word/CollectionsTemplate.docx")
+            .orElseThrow();
+        PlaceholderResolver resolver = new ReflectionResolver(SampleModelData.PICARD);
+        List<GenerationEvent> events = new CopyOnWriteArrayList<>();
+        GenerationOptions options = new GenerationOptionsBuilder()
+            .withListener(events::add)
+            .build();
+
+        // Act
+        Document document = template.startGeneration(resolver, options);
+        document.blockUntilCompletion(60000L); // 1 minute
+
+        // Assert
+        assertThat(document.completed(), is(true));
+        assertThat(events.stream().map(GenerationEvent::phase).toList(), hasItems(GenerationPhase.TEMPLATE_PARSE,
+            GenerationPhase.PLACEHOLDER_RESOLUTION, GenerationPhase.LOOP_UNROLL, GenerationPhase.SERIALIZATION, GenerationPhase.GENERATION));
+        var loop = events.stream().filter(event -> event.phase() == GenerationPhase.LOOP_UNROLL).findFirst().orElseThrow();
+        assertThat(loop.count(), greaterThan(0L));
+        assertThat(loop.name().isPresent(), is(true));
+        assertThat(events.stream().map(GenerationEvent::template).toList(),
+            everyItem(endsWith("/templates/word/CollectionsTemplate.docx")));
+    }
+
+    @Test
+    @DisplayName("Record flight recorder events.")
+    void shouldRecordFlightRecorderEvents() throws InterruptedException, IOException {
+        // Arrange
+        Template template = Template.fromClassPath("/templates/word/CollectionsTemplate.docx")
+            .orElseThrow();
+        PlaceholderResolver resolver = new ReflectionResolver(SampleModelData.PICARD);
+        Path recordingFile = Files.createTempFile("jocument", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("jocument.Generation");
+            recording.enable("jocument.LoopUnroll").withThreshold(Duration.ZERO);
+            recording.start();
+
+            // Act
+            Document document = template.startGeneration(resolver);
+            document.blockUntilCompletion(60000L); // 1 minute
+            recording.stop();
+            recording.dump(recordingFile);
+
+            // Assert
+            assertThat(document.completed(), is(true));
+            List<RecordedEvent> recordedEvents = RecordingFile.readAllEvents(recordingFile);
+            List<String> events = recordedEvents.stream()
+                .map(RecordedEvent::getEventType)
+                .map(EventType::getName)
+                .toList();
+            assertThat(events, hasItems("jocument.Generation", "jocument.LoopUnroll"));
+            var generation = recordedEvents.stream()
+                .filter(event -> event.getEventType().getName().equals("jocument.Generation"))
+                .findFirst()
+                .orElseThrow();
+            assertThat(generation.getString("template"), endsWith("/templates/word/CollectionsTemplate.docx"));
+        } finally {
+            Files.deleteIfExists(recordingFile);
+        }
+    }
+
+    @Test
+    @DisplayName("Stop generating a cancelled document.")
+    void shouldStopCancelledDocument() throws InterruptedException {
+        // Arrange
+        Template template = Template.fromClassPath("/templates/word/UserProfileTemplate.docx")
+            .orElseThrow();
+        CountDownLatch resolving = new CountDownLatch(1);
+        PlaceholderResolver resolver = new PlaceholderResolver() {
+            @Override
+            protected Optional<PlaceholderData> doResolve(String placeholderName, Locale locale) {
+                resolving.countDown();
+                try {
+                    Thread.sleep(60000L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Optional.empty();
+            }
+
+            @Override
+            public String toString() {
+                return "SlowResolver";
+            }
+        };
+
+        // Act
+        Document document = template.startGeneration(resolver);
+        resolving.await(1, TimeUnit.MINUTES);
+        document.cancel();
+        document.blockUntilCompletion(60000L); // 1 minute
+
+        // Assert
+        assertThat(document.completed(), is(false));
+        assertThat(document.getPath(), nullValue());
+    }
+
+    @Test
+    @DisplayName("Generate a batch of documents from one template.")
+    void shouldGenerateBatchOfDocuments() throws IOException {
+        // Arrange
+        Template template = Template.fromClassPath("/templates/word/UserProfileTemplate.docx")
+            .orElseThrow();
+        PlaceholderResolver failingResolver = new PlaceholderResolver() {
+            @Override
+            protected Optional<PlaceholderData> doResolve(String placeholderName, Locale locale) {
+                throw new IllegalArgumentException("Can not resolve " + placeholderName);
+            }
+
+            @Override
+            public String toString() {
+                return "FailingResolver";
+            }
+        };
+        List<PlaceholderResolver> resolvers = List.of(
+            new ReflectionResolver(SampleModelData.PICARD_PERSON),
+            failingResolver,
+            new ReflectionResolver(SampleModelData.PICARD_PERSON));
+        List<Document> documents = new ArrayList<>();
+        Map<PlaceholderResolver, Throwable> failures = new HashMap<>();
+
+        // Act
+        template.generateAll(resolvers, GenerationOptionsBuilder.buildDefaultOptions(), documents::add, failures::put);
+
+        // Assert
+        assertThat(documents, hasSize(2));
+        for (Document document : documents) {
+            assertThat(document.completed(), is(true));
+            try (var generated = TestUtils.getXWPFDocumentFromDocument(document)) {
+                var documentWrapper = new XWPFDocumentWrapper(generated);
+                assertThat(documentWrapper.bodyElement(0).asParagraph().text(), equalTo("User Profile: Jean-Luc Picard"));
+            }
+        }
+        assertThat(failures.keySet(), contains(failingResolver));
+        assertThat(failures.get(failingResolver), instanceOf(IllegalArgumentException.class));
+    }
+
     @Test
     @DisplayName("Generate a document from a template with multiple locales.")
     void shouldGenerateMultiLocaleDocument() throws InterruptedException, IOException {
@@ -184,6 +419,60 @@ class WordGeneratorTest {
         assertThat(documentWrapper.bodyElement(11).asParagraph().text(), equalTo("And that’s that."));
     }
 
+    @Test
+    @DisplayName("Resolve the placeholders of a scope in one batch.")
+    void shouldResolvePlaceholdersOfScopeInOneBatch() throws InterruptedException, IOException {
+        // Arrange
+        Template template = Template.fromClassPath("/templates/word/CollectionsTemplate.docx")
+            .orElseThrow();
+        List<Set<String>> batches = new CopyOnWriteArrayList<>();
+        PlaceholderResolver resolver = new ReflectionResolver(SampleModelData.PICARD) {
+            @Override
+            public Map<String, PlaceholderData> resolveAll(Set<String> placeholderNames, Locale locale) {
+                batches.add(placeholderNames);
+                return super.resolveAll(placeholderNames, locale);
+            }
+        };
+
+        // Act
+        Document document = template.startGeneration(resolver);
+        document.blockUntilCompletion(60000L); // 1 minute
+
+        // Assert
+        assertThat(document.completed(), is(true));
+        assertThat(batches, hasSize(1));
+        assertThat(batches.get(0), containsInAnyOrder("name", "officer", "services"));
+        xwpfDocument = TestUtils.getXWPFDocumentFromDocument(document);
+        var documentWrapper = new XWPFDocumentWrapper(xwpfDocument);
+        assertThat(documentWrapper.bodyElement(0).asParagraph().text(), equalTo("Captain: Jean-Luc Picard"));
+        assertThat(documentWrapper.bodyElement(8).asParagraph().text(), equalTo("USS Enterprise"));
+    }
+
+    @Test
+    @DisplayName("Resolve placeholders missing from a partial batch one by one.")
+    void shouldResolvePlaceholdersMissingFromPartialBatch() throws InterruptedException, IOException {
+        // Arrange
+        Template template = Template.fromClassPath("/templates/word/CollectionsTemplate.docx")
+            .orElseThrow();
+        PlaceholderResolver resolver = new ReflectionResolver(SampleModelData.PICARD) {
+            @Override
+            public Map<String, PlaceholderData> resolveAll(Set<String> placeholderNames, Locale locale) {
+                return super.resolveAll(Set.of("name"), locale);
+            }
+        };
+
+        // Act
+        Document document = template.startGeneration(resolver);
+        document.blockUntilCompletion(60000L); // 1 minute
+
+        // Assert
+        assertThat(document.completed(), is(true));
+        xwpfDocument = TestUtils.getXWPFDocumentFromDocument(document);
+        var documentWrapper = new XWPFDocumentWrapper(xwpfDocument);
+        assertThat(documentWrapper.bodyElement(0).asParagraph().text(), equalTo("Captain: Jean-Luc Picard"));
+        assertThat(documentWrapper.bodyElement(8).asParagraph().text(), equalTo("USS Enterprise"));
+    }
+
     @Test
     @DisplayName("Apply custom word placeholder.")
     void shouldApplyCustomWordPlaceholder() throws InterruptedException, IOException {
@@ -376,6 +665,109 @@ class WordGeneratorTest {
         assertThat(documentWrapper.bodyElement(0).asParagraph().run(0).pictures(), hasSize(1));
     }
 
+    @Test
+    @DisplayName("Scale large picture on the image preprocessing pool")
+    void shouldScaleLargePictureInParallel() throws IOException, InterruptedException {
+        // Assemble
+        Template template = Template.fromClassPath("/templates/word/ProfilePicTemplate.docx")
+            .orElseThrow();
+        PlaceholderResolver resolver = new ReflectionResolver(SampleModelData.FUTURE_PICARD);
+        GenerationOptions options = new GenerationOptionsBuilder()
+            .withParallelImageProcessing(2, 64L * 1024 * 1024)
+            .build();
+
+        // Act
+        Document document = template.startGeneration(resolver, options);
+        document.blockUntilCompletion(60000L); // 1 minute
+
+        // Assert
+        assertThat(document.completed(), is(true));
+        xwpfDocument = TestUtils.getXWPFDocumentFromDocument(document);
+        var documentWrapper = new XWPFDocumentWrapper(xwpfDocument);
+        assertThat(documentWrapper.bodyElement(0).asParagraph().run(0).pictures(), hasSize(1));
+    }
+
+    @Test
+    @DisplayName("Reuse scaled pictures of previous documents")
+    void shouldReuseScaledPictures() throws IOException, InterruptedException {
+        // Assemble
+        Template template = Template.fromClassPath("/templates/word/ProfilePicTemplate.docx")
+            .orElseThrow();
+        PlaceholderResolver resolver = new ReflectionResolver(SampleModelData.FUTURE_PICARD);
+        try (ScaledImageCache cache = ScaledImageCache.inMemory(64L * 1024 * 1024)) {
+            GenerationOptions options = new GenerationOptionsBuilder()
+                .withScaledImageCache(cache)
+                .build();
+
+            // Act
+            Document first = template.startGeneration(resolver, options);
+            first.blockUntilCompletion(60000L); // 1 minute
+            Document second = template.startGeneration(resolver, options);
+            second.blockUntilCompletion(60000L); // 1 minute
+
+            // Assert
+            assertThat(second.completed(), is(true));
+            assertThat(cache.hitCount(), is(1L));
+            xwpfDocument = TestUtils.getXWPFDocumentFromDocument(second);
+            var documentWrapper = new XWPFDocumentWrapper(xwpfDocument);
+            assertThat(documentWrapper.bodyElement(0).asParagraph().run(0).pictures(), hasSize(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Reuse scaled pictures held in memory of previous documents")
+    void shouldReuseScaledPicturesFromMemory() throws IOException, InterruptedException {
+        // Assemble
+        Template template = Template.fromClassPath("/templates/word/ProfilePicTemplate.docx")
+            .orElseThrow();
+        byte[] picture;
+        try (var in = WordGeneratorTest.class.getResourceAsStream("/images/picardProfileLarge.jpg")) {
+            picture = in.readAllBytes();
+        }
+        try (ScaledImageCache cache = ScaledImageCache.inMemory(64L * 1024 * 1024)) {
+            GenerationOptions options = new GenerationOptionsBuilder()
+                .withScaledImageCache(cache)
+                .build();
+
+            // Act
+            Document first = template.startGeneration(new ReflectionResolver(new StoredCaptain("Jean-Luc Picard", picture)), options);
+            first.blockUntilCompletion(60000L); // 1 minute
+            // the same image read again, e.g. from an object storage
+            Document second = template.startGeneration(new ReflectionResolver(new StoredCaptain("Jean-Luc Picard", picture.clone())), options);
+            second.blockUntilCompletion(60000L); // 1 minute
+
+            // Assert
+            assertThat(second.completed(), is(true));
+            assertThat(cache.hitCount(), is(1L));
+            xwpfDocument = TestUtils.getXWPFDocumentFromDocument(second);
+            var documentWrapper = new XWPFDocumentWrapper(xwpfDocument);
+            assertThat(documentWrapper.bodyElement(0).asParagraph().run(0).pictures(), hasSize(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Insert picture held in memory")
+    void shouldInsertPictureFromMemory() throws IOException, InterruptedException {
+        // Assemble
+        Template template = Template.fromClassPath("/templates/word/ProfilePicTemplate.docx")
+            .orElseThrow();
+        byte[] picture;
+        try (var in = WordGeneratorTest.class.getResourceAsStream("/images/picardProfileLarge.jpg")) {
+            picture = in.readAllBytes();
+        }
+        PlaceholderResolver resolver = new ReflectionResolver(new StoredCaptain("Jean-Luc Picard", picture));
+
+        // Act
+        Document document = template.startGeneration(resolver);
+        document.blockUntilCompletion(60000L); // 1 minute
+
+        // Assert
+        assertThat(document.completed(), is(true));
+        xwpfDocument = TestUtils.getXWPFDocumentFromDocument(document);
+        var documentWrapper = new XWPFDocumentWrapper(xwpfDocument);
+        assertThat(documentWrapper.bodyElement(0).asParagraph().run(0).pictures(), hasSize(1));
+    }
+
     @Test
     @DisplayName("Process Document With TOC")
     void shouldProcessDocumentWithTOC() throws IOException, InterruptedException {
@@ -0,0 +1,8 @@
+package com.docutools.jocument.sample.model;
+
+import com.docutools.jocument.annotations.Image;
+
+public record StoredCaptain(String name,
+                            @Image(maxWidth = 100)
+                            byte[] profilePic) {
+}